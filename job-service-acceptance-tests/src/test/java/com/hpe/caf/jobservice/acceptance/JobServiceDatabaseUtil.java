@@ -285,14 +285,17 @@ public class JobServiceDatabaseUtil
         return (propertyValue != null) ? propertyValue : System.getenv(key);
     }
     
-    public static void assertDeleteLogNotEmpty() throws SQLException
+    public static void assertNoSubtaskRows(final String jobId) throws SQLException
     {
         try(final Connection dbConnection = getDbConnection();
-            final PreparedStatement st = dbConnection.prepareStatement("SELECT count(*) as result FROM public.delete_log ");
-            final ResultSet rs = st.executeQuery())
+            final PreparedStatement st = dbConnection.prepareStatement(
+                "SELECT count(*) as result FROM public.subtask s JOIN public.job j ON j.identity = s.job_identity WHERE j.job_id = ?"))
         {
-            rs.next();
-            Assert.assertNotEquals(rs.getInt("result"), 0, "Soft deleted table names not present. ");
+            st.setString(1, jobId);
+            try (final ResultSet rs = st.executeQuery()) {
+                rs.next();
+                Assert.assertEquals(rs.getInt("result"), 0, "Subtask rows of completed Job "+jobId+" are still present. ");
+            }
         }
     }
 
@@ -1143,7 +1143,7 @@ public class JobServiceEndToEndIT {
     }
     
     @Test(enabled = false) // See https://portal.digitalsafe.net/browse/SCMOD-13004
-    public void testJobCompletionInsertsRecordsInDeleteLog() throws Exception
+    public void testJobCompletionDeletesSubtaskRows() throws Exception
     {
         numTestItemsToGenerate = 2;
         testItemAssetIds = generateWorkerBatch();
@@ -1208,7 +1208,8 @@ public class JobServiceEndToEndIT {
         waitUntilJobCompletes(job2Id);
     
         //assert
-        JobServiceDatabaseUtil.assertDeleteLogNotEmpty();
+        JobServiceDatabaseUtil.assertNoSubtaskRows(job1Id);
+        JobServiceDatabaseUtil.assertNoSubtaskRows(job2Id);
     }
 
     @Test
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2016-2024 Open Text.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hpe.caf.services.job.benchmarks;
+
+import com.hpe.caf.services.job.api.FailureDetails;
+import com.hpe.caf.services.job.api.generated.model.Failure;
+import com.hpe.caf.services.job.api.generated.model.Job;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.codehaus.jettison.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of decoding the dates and failures of a job row returned by get_job() or get_jobs().
+ * <p>
+ * The {@code formatted} benchmark decodes the row as it used to be returned, with the dates formatted as text and the failures
+ * parsed line by line with Jettison. The {@code nativeTypes} benchmark decodes the dates as epoch milliseconds and the failures with
+ * {@link FailureDetails}.
+ * <p>
+ * Both benchmarks read their columns from a stub {@link ResultSet} which holds each value as the text sent by the database, as the
+ * PostgreSQL driver does for the text protocol, so that the cost of turning that text into the job's values is measured in both.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JobRowDecodingBenchmark
+{
+    private static final String FAILURE
+        = "{\"failureId\":\"f1\",\"failureTime\":\"2024-01-02T03:04:05.678Z\",\"failureSource\":\"worker\","
+        + "\"failureMessage\":\"The document could not be processed\"}";
+
+    private static final String INHERITED_FAILURE
+        = "{\"root_failure\": \"partition:prerequisite\", \"failure_details\": " + FAILURE + "}";
+
+    @Param({"0", "1", "10"})
+    public int failureCount;
+
+    private ResultSet formattedRow;
+    private ResultSet nativeTypesRow;
+
+    @Setup
+    public void setup()
+    {
+        final String createDate = "2024-01-02T03:04:05.678Z";
+        final String lastUpdateDate = "2024-01-02T04:05:06.789Z";
+
+        final List<String> failures = new ArrayList<>();
+        for (int i = 0; i < failureCount; i++) {
+            failures.add(i % 2 == 0 ? FAILURE : INHERITED_FAILURE);
+        }
+        final String failureDetails = failures.isEmpty() ? null : String.join("\n", failures);
+
+        final Map<String, String> formattedColumns = new HashMap<>();
+        formattedColumns.put("create_date", createDate);
+        formattedColumns.put("last_update_date", lastUpdateDate);
+        formattedColumns.put("failure_details", failureDetails);
+        formattedRow = createRow(formattedColumns);
+
+        final Map<String, String> nativeTypesColumns = new HashMap<>();
+        nativeTypesColumns.put("create_date", Long.toString(Instant.parse(createDate).toEpochMilli()));
+        nativeTypesColumns.put("last_update_date", Long.toString(Instant.parse(lastUpdateDate).toEpochMilli()));
+        nativeTypesColumns.put("failure_details", failureDetails);
+        nativeTypesRow = createRow(nativeTypesColumns);
+    }
+
+    @Benchmark
+    public Job formatted() throws Exception
+    {
+        final Job job = new Job();
+        job.setCreateTime(Instant.parse(formattedRow.getString("create_date")).toEpochMilli());
+        job.setLastUpdateTime(Instant.parse(formattedRow.getString("last_update_date")).toEpochMilli());
+        job.setFailures(decodeWithJettison(formattedRow.getString("failure_details")));
+        return job;
+    }
+
+    @Benchmark
+    public Job nativeTypes() throws Exception
+    {
+        final Job job = new Job();
+        job.setCreateTime(nativeTypesRow.getLong("create_date"));
+        job.setLastUpdateTime(nativeTypesRow.getLong("last_update_date"));
+        job.setFailures(FailureDetails.decode(nativeTypesRow.getString("failure_details")));
+        return job;
+    }
+
+    /**
+     * Creates a stub row which holds each column as text and, like the PostgreSQL driver, parses the text when a number is read.
+     */
+    private static ResultSet createRow(final Map<String, String> columns)
+    {
+        return (ResultSet) Proxy.newProxyInstance(
+            ResultSet.class.getClassLoader(),
+            new Class<?>[]{ResultSet.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getString":
+                        return columns.get((String) args[0]);
+                    case "getLong":
+                        final String value = columns.get((String) args[0]);
+                        return value == null ? 0L : Long.parseLong(value);
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+    }
+
+    /**
+     * The failure decoding which was used before {@link FailureDetails}, kept as the baseline.
+     */
+    private static List<Failure> decodeWithJettison(final String failureDetails) throws Exception
+    {
+        final List<Failure> failures = new ArrayList<>();
+        if (failureDetails == null || failureDetails.isEmpty()) {
+            return failures;
+        }
+        for (final String failure : failureDetails.split("\\r?\\n")) {
+            final JSONObject jFailure = new JSONObject(failure);
+            final Failure f;
+            if (jFailure.has("root_failure")) {
+                f = readJettisonFailure(new JSONObject(jFailure.getString("failure_details")));
+                f.setFailureSource(jFailure.getString("root_failure") + ":" + f.getFailureSource());
+            } else {
+                f = readJettisonFailure(jFailure);
+            }
+            failures.add(f);
+        }
+        return failures;
+    }
+
+    private static Failure readJettisonFailure(final JSONObject json) throws Exception
+    {
+        final Failure f = new Failure();
+        f.setFailureId(json.getString("failureId"));
+        f.setFailureTime(Instant.parse(json.getString("failureTime")).toEpochMilli());
+        f.setFailureSource(json.getString("failureSource"));
+        f.setFailureMessage(json.getString("failureMessage"));
+        return f;
+    }
+}
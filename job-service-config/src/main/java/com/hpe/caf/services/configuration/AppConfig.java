@@ -59,6 +59,33 @@ public class AppConfig {
         return environment.getProperty("JOB_SERVICE_DATABASE_APPNAME");
     }
 
+    public int getDatabasePoolMaxSize(){
+        return getIntProperty("JOB_SERVICE_DATABASE_POOL_MAX_SIZE", 20);
+    }
+
+    public int getDatabasePoolMinIdle(){
+        return getIntProperty("JOB_SERVICE_DATABASE_POOL_MIN_IDLE", 2);
+    }
+
+    public int getDatabasePoolIdleTimeoutSeconds(){
+        return getIntProperty("JOB_SERVICE_DATABASE_POOL_IDLE_TIMEOUT_SECONDS", 300);
+    }
+
+    public int getDatabasePoolMaxLifetimeSeconds(){
+        return getIntProperty("JOB_SERVICE_DATABASE_POOL_MAX_LIFETIME_SECONDS", 1800);
+    }
+
+    public int getDatabasePoolConnectionTimeoutSeconds(){
+        return getIntProperty("JOB_SERVICE_DATABASE_POOL_CONNECTION_TIMEOUT_SECONDS", 30);
+    }
+
+    /**
+     * @return Number of seconds a connection may be held before it is logged as a possible leak, or 0 to disable
+     */
+    public int getDatabasePoolLeakDetectionThresholdSeconds(){
+        return getIntProperty("JOB_SERVICE_DATABASE_POOL_LEAK_DETECTION_THRESHOLD_SECONDS", 0);
+    }
+
     public String getRabbitMQProtocol()
     {
         return environment.getProperty("CAF_RABBITMQ_PROTOCOL");
@@ -80,6 +107,20 @@ public class AppConfig {
         return environment.getProperty("CAF_RABBITMQ_PASSWORD");
     }
 
+    /**
+     * @return Maximum number of RabbitMQ channels which may be in use at any one time
+     */
+    public int getRabbitMQChannelPoolMaxSize(){
+        return getIntProperty("CAF_RABBITMQ_CHANNEL_POOL_MAX_SIZE", 20);
+    }
+
+    /**
+     * @return Number of seconds to wait for a RabbitMQ channel to become available
+     */
+    public int getRabbitMQChannelPoolTimeoutSeconds(){
+        return getIntProperty("CAF_RABBITMQ_CHANNEL_POOL_TIMEOUT_SECONDS", 30);
+    }
+
     public String getTrackingPipe() {
         return environment.getProperty("CAF_TRACKING_PIPE");
     }
@@ -102,6 +143,13 @@ public class AppConfig {
         }
     }
 
+    /**
+     * @return Number of rows to fetch from the database at a time when a list of jobs is streamed
+     */
+    public int getJobsFetchSize(){
+        return getIntProperty("CAF_JOB_SERVICE_GET_JOBS_FETCH_SIZE", 100);
+    }
+
     /**
      * @return Directory containing job type definition files, possibly `null`
      */
@@ -140,6 +188,14 @@ public class AppConfig {
         return defaultName;
     }
 
+    /**
+     * @return Number of milliseconds over which the scheduler triggers for newly created jobs are combined into a single message
+     */
+    public int getSchedulerTriggerDelayMillis()
+    {
+        return getIntProperty("CAF_JOB_SERVICE_SCHEDULER_TRIGGER_DELAY_MS", 100);
+    }
+
     public int getCancelJobsBatchLimit()
     {
         final String defaultBatchLimit = environment.getProperty("CAF_CANCEL_JOBS_BATCH_LIMIT");
@@ -162,4 +218,10 @@ public class AppConfig {
             return Integer.parseInt(defaultBatchLimit);
         }
     }
+
+    private int getIntProperty(final String propertyName, final int defaultValue)
+    {
+        final String value = environment.getProperty(propertyName);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
 }
@@ -19,6 +19,8 @@ import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 public final class AppConfigProvider
 {
     private static final String ERR_MSG_DB_CONNECTION_PROPS_MISSING = "One or more PostgreSQL database connection " +
@@ -28,12 +30,49 @@ public final class AppConfigProvider
     private static final String ERR_MSG_RESUME_JOB_QUEUE_PROP_MISSING = "CAF_JOB_SERVICE_RESUME_JOB_QUEUE property has not been " +
             "provided.";
 
+    private static final AtomicReference<AppConfig> APP_CONFIG = new AtomicReference<>();
+
     private AppConfigProvider()
     {
     }
 
+    /**
+     * Gets the validated configuration shared by the whole process.
+     * <p>
+     * The configuration is loaded on first use and the same instance is returned to every caller afterwards, so that the cost of
+     * loading it is not paid on every request.
+     *
+     * @return  the shared configuration
+     * @throws  AppConfigException thrown upon configuration issue
+     */
+    public static AppConfig getAppConfig() throws AppConfigException {
+        final AppConfig current = APP_CONFIG.get();
+        if (current != null) {
+            return current;
+        }
+        final AppConfig loaded = getAppConfigProperties();
+        return APP_CONFIG.compareAndSet(null, loaded) ? loaded : APP_CONFIG.get();
+    }
+
+    /**
+     * Reloads the configuration and, if it is valid, replaces the shared configuration with it.
+     * <p>
+     * Callers that have already retrieved the previous configuration continue to use it; the new configuration is seen by
+     * subsequent calls to {@link #getAppConfig()}.
+     *
+     * @return  the new shared configuration
+     * @throws  AppConfigException thrown upon configuration issue, in which case the shared configuration is left unchanged
+     */
+    public static AppConfig reloadAppConfig() throws AppConfigException {
+        final AppConfig loaded = getAppConfigProperties();
+        APP_CONFIG.set(loaded);
+        return loaded;
+    }
+
     /**
      * Load required inputs from config.properties or environment variables.
+     * <p>
+     * A new configuration is loaded on every call; use {@link #getAppConfig()} to get the shared configuration.
      *
      * @return  properties  an object containing the properties read from environment variables
      * @throws  AppConfigException thrown upon configuration issue
@@ -24,6 +24,7 @@ import com.hpe.caf.config.system.SystemBootstrapConfiguration;
 import com.hpe.caf.naming.ServicePath;
 import com.hpe.caf.services.job.client.ApiClient;
 import com.hpe.caf.services.job.client.ApiException;
+import com.hpe.caf.services.job.client.ApiResponse;
 import com.hpe.caf.services.job.client.api.JobsApi;
 import com.hpe.caf.services.job.client.model.CancelJobs200Response;
 import com.hpe.caf.services.job.client.model.DeleteJobs200Response;
@@ -453,7 +454,7 @@ public class JobServiceIT {
         final DeleteJobs200Response response = jobsApi.deleteJobs(defaultPartitionId, jobCorrelationId, null, null, filter);
 
         final List<Job> deletedJobs = jobsApi.getJobs(
-                defaultPartitionId, jobCorrelationId,null,null,null,null,null, null, filter);
+                defaultPartitionId, jobCorrelationId,null,null,null,null,null, null, filter, null);
 
         assertTrue(deletedJobs.isEmpty());
 
@@ -476,7 +477,7 @@ public class JobServiceIT {
         final DeleteJobs200Response response = jobsApi.deleteJobs(defaultPartitionId, jobCorrelationId, jobIdStartsWith, null, null);
 
         final List<Job> deletedJobs = jobsApi.getJobs(defaultPartitionId, jobCorrelationId, jobIdStartsWith, null, null,
-                null, null, null, null);
+                null, null, null, null, null);
 
         assertTrue(deletedJobs.isEmpty());
 
@@ -540,7 +541,7 @@ public class JobServiceIT {
         }
 
         List<Job> retrievedJobs = jobsApi.getJobs(
-            defaultPartitionId, "100",null,null,null,null,null, null, null);
+            defaultPartitionId, "100",null,null,null,null,null, null, null, null);
         assertEquals(retrievedJobs.size(), 10);
 
         for(int i=0; i<10; i++) {
@@ -571,7 +572,7 @@ public class JobServiceIT {
         jobsApi.createOrUpdateJob(defaultPartitionId, waitingJobId, waitingJob, correlationId);
 
         final List<Job> jobs = jobsApi.getJobs(
-            defaultPartitionId, correlationId, null, "NotFinished", null, null, null, null, null);
+            defaultPartitionId, correlationId, null, "NotFinished", null, null, null, null, null, null);
         assertEquals(jobs.size(), 1);
         assertEquals(jobs.get(0).getId(), waitingJobId);
     }
@@ -602,7 +603,7 @@ public class JobServiceIT {
         final String job3Id = createJob(jobId + "b");
 
         final List<Job> jobs = jobsApi.getJobs(
-            defaultPartitionId, "1", null, null, null, null, "jobId:asc", null, null);
+            defaultPartitionId, "1", null, null, null, null, "jobId:asc", null, null, null);
         final List<String> resultJobIds =
             jobs.stream().map(job -> job.getId()).collect(Collectors.toList());
         assertEquals(resultJobIds, Arrays.asList(jobId + "A", jobId + "b", jobId + "C"),
@@ -617,7 +618,7 @@ public class JobServiceIT {
         final String job3Id = createJob(jobId + "B");
 
         final List<Job> jobs = jobsApi.getJobs(
-            defaultPartitionId, "1", null, null, null, null, "name:asc", null, null);
+            defaultPartitionId, "1", null, null, null, null, "name:asc", null, null, null);
         final List<String> resultJobIds =
             jobs.stream().map(job -> job.getName()).collect(Collectors.toList());
         assertEquals(resultJobIds, Arrays.asList("Job_"+jobId + "A", "Job_"+jobId + "B", "Job_"+jobId + "C"),
@@ -644,7 +645,7 @@ public class JobServiceIT {
 
         //retrieve job using web method
         List<Job> jobs = jobsApi.getJobs(defaultPartitionId, correlationId, null, null,
-                null, null, "labels.tag1:asc", null, null);
+                null, null, "labels.tag1:asc", null, null, null);
         assertEquals(jobs.stream().map(Job::getId).collect(Collectors.toSet()),
                                                     new HashSet<>(Arrays.asList(jobId2, jobId1, jobId3)));
 
@@ -654,11 +655,102 @@ public class JobServiceIT {
             "should sort case-insensitively by ascending job labels for the label-key: tag1");
 
         jobs = jobsApi.getJobs(defaultPartitionId, correlationId, null, null, null,null,
-                "labels.owner:asc", "owner", null);
+                "labels.owner:asc", "owner", null, null);
         assertEquals(jobs.stream().map(Job::getId).collect(Collectors.toSet()),
                                                 new HashSet<>(Arrays.asList(jobId2)));
     }
 
+    @Test
+    public void testGetJobsWithContinuationToken() throws ApiException {
+        final String jobIdPrefix = UUID.randomUUID().toString();
+        final String correlationId = "1";
+        for (int i = 0; i < 7; i++) {
+            final String jobId = jobIdPrefix + "_" + i;
+            final NewJob job = makeJob(jobId, "testGetJobsWithContinuationToken");
+            // some jobs have no name and some have no label, and some share a label value
+            if (i % 3 == 0) {
+                job.setName(null);
+            }
+            if (i % 2 == 0) {
+                job.getLabels().put("tag", i < 4 ? "aaa" : "bbb");
+            }
+            jobsApi.createOrUpdateJob(defaultPartitionId, jobId, job, correlationId);
+        }
+
+        final List<String> sorts = Arrays.asList(
+            "name:asc", "name:desc", "labels.tag:asc", "labels.tag:desc", "createTime:asc", "createTime:desc");
+        for (final String sort : sorts) {
+            final List<String> expectedJobIds = jobsApi.getJobs(
+                defaultPartitionId, correlationId, null, null, 100, null, sort, null, null, null)
+                .stream().map(Job::getId).collect(Collectors.toList());
+            assertEquals(expectedJobIds.size(), 7, "should return every job for sort " + sort);
+
+            final List<String> pagedJobIds = new ArrayList<>();
+            String continuationToken = null;
+            int pageCount = 0;
+            do {
+                final ApiResponse<List<Job>> page = jobsApi.getJobsWithHttpInfo(
+                    defaultPartitionId, correlationId, null, null, 2, null, sort, null, null, continuationToken);
+                page.getData().stream().map(Job::getId).forEach(pagedJobIds::add);
+                continuationToken = getHeader(page, "Continuation-Token");
+                assertTrue(++pageCount <= 5, "should reach the last page for sort " + sort);
+            } while (continuationToken != null);
+
+            assertEquals(pagedJobIds, expectedJobIds,
+                "should return each job exactly once, in order, when paging with sort " + sort);
+        }
+    }
+
+    @Test
+    public void testGetJobsAsNdjson() throws ApiException, IOException {
+        final String jobIdPrefix = UUID.randomUUID().toString();
+        for (int i = 0; i < 5; i++) {
+            final String jobId = jobIdPrefix + "_" + i;
+            final NewJob job = makeJob(jobId, "testGetJobsAsNdjson");
+            job.getLabels().put("index", Integer.toString(i));
+            jobsApi.createOrUpdateJob(defaultPartitionId, jobId, job, "1");
+        }
+
+        final String getRequestUrl = connectionString + "/partitions/" + defaultPartitionId + "/jobs?sort=createTime:asc";
+        final String jsonResponse = getJobsResponse(getRequestUrl, "application/json");
+        final String ndjsonResponse = getJobsResponse(getRequestUrl, "application/x-ndjson");
+
+        final List<JsonNode> expectedJobs = new ArrayList<>();
+        objectMapper.readTree(jsonResponse).forEach(expectedJobs::add);
+        assertEquals(expectedJobs.size(), 5);
+
+        final List<JsonNode> streamedJobs = new ArrayList<>();
+        for (final String line : ndjsonResponse.split("\n")) {
+            final JsonNode streamedJob = objectMapper.readTree(line);
+            assertTrue(streamedJob.isObject(), "each line should hold a single job object: " + line);
+            streamedJobs.add(streamedJob);
+        }
+        assertEquals(streamedJobs, expectedJobs, "should stream the same jobs, in the same order, as the JSON list");
+    }
+
+    private static String getJobsResponse(final String getRequestUrl, final String mediaType) throws IOException {
+        final HttpGet request = new HttpGet(getRequestUrl);
+        request.setHeader("Accept", mediaType);
+        final HttpClient httpClient = HttpClients.createDefault();
+        try {
+            final HttpResponse response = httpClient.execute(request);
+            assertEquals(response.getStatusLine().getStatusCode(), 200);
+            assertTrue(response.getFirstHeader("Content-Type").getValue().startsWith(mediaType),
+                "should respond with " + mediaType);
+            return IOUtils.toString(response.getEntity().getContent(), StandardCharsets.UTF_8);
+        } finally {
+            request.releaseConnection();
+        }
+    }
+
+    private static String getHeader(final ApiResponse<?> response, final String name) {
+        return response.getHeaders().entrySet().stream()
+            .filter(header -> header.getKey().equalsIgnoreCase(name))
+            .flatMap(header -> header.getValue().stream())
+            .findFirst()
+            .orElse(null);
+    }
+
     @Test
     public void testCancelJob() throws ApiException {
         //create a job
@@ -721,7 +813,7 @@ public class JobServiceIT {
         final CancelJobs200Response response = jobsApi.cancelJobs(defaultPartitionId, jobCorrelationId, null, null, filter);
 
         final List<Job> cancelledJobs = jobsApi.getJobs(defaultPartitionId, jobCorrelationId, null, null, null,
-                null, null, null, filter);
+                null, null, null, filter, null);
 
         for (final Job job : cancelledJobs) {
             assertEquals(job.getStatus(), JobStatus.CANCELLED);
@@ -750,7 +842,7 @@ public class JobServiceIT {
         final CancelJobs200Response response = jobsApi.cancelJobs(defaultPartitionId, jobCorrelationId, jobIdStartsWith, null, null);
 
         final List<Job> cancelledJobs = jobsApi.getJobs(defaultPartitionId, jobCorrelationId, jobIdStartsWith, null, null,
-                null, null, null, null);
+                null, null, null, null, null);
 
         for (final Job job : cancelledJobs) {
             assertEquals(job.getStatus(), JobStatus.CANCELLED);
@@ -774,7 +866,7 @@ public class JobServiceIT {
         final CancelJobs200Response response = jobsApi.cancelJobs(defaultPartitionId, jobCorrelationId, null, null, null);
 
         final List<Job> cancelledJobs = jobsApi.getJobs(defaultPartitionId, jobCorrelationId, null, null, 1000,
-                null, null, null, null);
+                null, null, null, null, null);
 
         for (final Job job : cancelledJobs) {
             assertEquals(job.getStatus(), JobStatus.CANCELLED);
@@ -834,7 +926,7 @@ public class JobServiceIT {
         "tag:1", null);
 
         final List<Job> cancelledJobs = jobsApi.getJobs(defaultPartitionId, correlationId, null, null, null,
-                null, null, "tag:1", null);
+                null, null, "tag:1", null, null);
 
         for (final Job job : cancelledJobs) {
             assertEquals(job.getStatus(), JobStatus.CANCELLED);
@@ -941,7 +1033,7 @@ public class JobServiceIT {
 
         jobsApi.createOrUpdateJob(defaultPartitionId, jobId, newJob, jobCorrelationId);
         final List<Job> jobs = jobsApi.getJobs(
-            UUID.randomUUID().toString(), jobCorrelationId, null, null, null, null, null, null, null);
+            UUID.randomUUID().toString(), jobCorrelationId, null, null, null, null, null, null, null, null);
         assertEquals(jobs.size(), 0, "job list should be empty");
     }
 
@@ -1213,7 +1305,7 @@ public class JobServiceIT {
 
         //retrieve job using web method
         List<Job> jobs = jobsApi.getJobs(defaultPartitionId, correlationId, null, null,
-                null, null, null, "tag:1", null);
+                null, null, null, "tag:1", null, null);
         assertEquals(jobs.stream().map(Job::getId).collect(Collectors.toSet()), new HashSet<>(Arrays.asList(jobId1, jobId2)));
 
         //Assert all labels are returned, not just the ones used to filter the jobs
@@ -1228,11 +1320,11 @@ public class JobServiceIT {
         assertTrue(dbJob2.getLabels().containsKey("owner"));
 
         jobs = jobsApi.getJobs(defaultPartitionId, correlationId, null, null, null,
-                null, null, "tag:1,random", null);
+                null, null, "tag:1,random", null, null);
         assertEquals(jobs.stream().map(Job::getId).collect(Collectors.toSet()), new HashSet<>(Arrays.asList(jobId1, jobId2, jobId3)));
 
         jobs = jobsApi.getJobs(defaultPartitionId, correlationId, null, null, null,
-                null, null, "owner", null);
+                null, null, "owner", null, null);
         assertEquals(jobs.stream().map(Job::getId).collect(Collectors.toSet()), new HashSet<>(Collections.singletonList(jobId2)));
     }
 
@@ -1256,7 +1348,7 @@ public class JobServiceIT {
 
         //retrieve job using web method
         List<Job> jobs = jobsApi.getJobs(defaultPartitionId, correlationId, null, null,
-                2, 0, "createTime:asc", null, null);
+                2, 0, "createTime:asc", null, null, null);
         assertEquals(jobs.size(), 2);
         //Assert all labels are returned
         final Job dbJob1 = jobs.stream().filter(j -> j.getId().equals(jobId1)).findFirst().orElse(null);
@@ -1265,11 +1357,11 @@ public class JobServiceIT {
         assertTrue(dbJob1.getLabels().containsKey("tag:2"));
 
         jobs = jobsApi.getJobs(defaultPartitionId, correlationId, null, null,
-                5, 0, "createTime:asc", null, null);
+                5, 0, "createTime:asc", null, null, null);
         assertEquals(jobs.size(), 3);
 
         jobs = jobsApi.getJobs(defaultPartitionId, correlationId, null, null,
-                2, 2, "createTime:asc", null, null);
+                2, 2, "createTime:asc", null, null, null);
         assertEquals(jobs.size(), 1);
     }
 
@@ -1432,12 +1524,19 @@ public class JobServiceIT {
 
     private void createTaskTable(final java.sql.Connection dbConnection, final String parentTableName)
     {
-        try (final CallableStatement createTaskTableStmt = dbConnection
-                .prepareCall("{call internal_create_task_table(?)}")) {
-            createTaskTableStmt.setString(1, parentTableName);
-            createTaskTableStmt.executeQuery();
+        // Subtasks are now stored in the subtask table, so create a task table in the layout left behind by earlier versions
+        final String createTaskTableSQL = "CREATE TABLE IF NOT EXISTS \"" + parentTableName + "\"" +
+                " (subtask_id INT NOT NULL," +
+                " create_date TIMESTAMP WITHOUT TIME ZONE NOT NULL," +
+                " status job_status NOT NULL DEFAULT 'Waiting'::job_status," +
+                " percentage_complete DOUBLE PRECISION NOT NULL DEFAULT 0.00," +
+                " failure_details TEXT," +
+                " is_final BOOLEAN NOT NULL DEFAULT FALSE," +
+                " CONSTRAINT \"pk_" + parentTableName + "\" PRIMARY KEY (subtask_id))";
+        try (final PreparedStatement createTaskTableStmt = dbConnection.prepareStatement(createTaskTableSQL)) {
+            createTaskTableStmt.executeUpdate();
         } catch (final SQLException sqlException) {
-            LOG.error("Exception while calling procedure internal_create_task_table ", sqlException);
+            LOG.error("Exception while creating task table ", sqlException);
             throw new RuntimeException(sqlException);
         }
     }
@@ -15,58 +15,125 @@
  */
 package com.hpe.caf.services.db.client;
 
+import com.codahale.metrics.MetricRegistry;
 import com.hpe.caf.services.configuration.AppConfig;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 import org.postgresql.ds.PGSimpleDataSource;
 
 /**
- * The DatabaseHelper class is responsible for database operations.
+ * Provides connections to the job service database from a pool which is shared by the whole process.
  */
 public final class DatabaseConnectionProvider
 {
     private static final Logger LOG = LoggerFactory.getLogger(DatabaseConnectionProvider.class);
 
+    private static final String POOL_NAME = "job-service-db";
+
+    private static volatile HikariDataSource dataSource;
+    private static MetricRegistry metricRegistry;
+
     private DatabaseConnectionProvider()
     {
     }
 
     /**
-     * Creates a connection to the PostgreSQL database.
+     * Gets a connection to the PostgreSQL database from the connection pool, creating the pool on first use.
+     * <p>
+     * The connection must be closed by the caller so that it is returned to the pool.
      */
     public static Connection getConnection(final AppConfig appConfig) throws Exception
     {
-        final Connection conn;
+        try {
+            LOG.debug("Getting database connection from pool...");
+            return getDataSource(appConfig).getConnection();
+        } catch (final Exception ex) {
+            LOG.error("Cannot get connection");
+            throw ex;
+        }
+    }
+
+    /**
+     * Sets the registry that the pool metrics (active, idle and pending connections, wait and usage times) are published to.
+     * <p>
+     * This must be called before the first connection is requested.
+     */
+    public static synchronized void setMetricRegistry(final MetricRegistry registry)
+    {
+        if (dataSource != null) {
+            throw new IllegalStateException("The connection pool has already been created");
+        }
+        metricRegistry = registry;
+    }
+
+    /**
+     * Closes the connection pool, closing all of its connections.
+     */
+    public static synchronized void close()
+    {
+        if (dataSource != null) {
+            LOG.debug("Closing database connection pool...");
+            dataSource.close();
+            dataSource = null;
+        }
+    }
+
+    private static HikariDataSource getDataSource(final AppConfig appConfig)
+    {
+        final HikariDataSource existing = dataSource;
+        if (existing != null) {
+            return existing;
+        }
+        synchronized (DatabaseConnectionProvider.class) {
+            if (dataSource == null) {
+                dataSource = createDataSource(appConfig);
+            }
+            return dataSource;
+        }
+    }
 
+    private static HikariDataSource createDataSource(final AppConfig appConfig)
+    {
         // Only JDBC/PostgreSQL connections supported.
         final String appname = appConfig.getApplicationName() != null ? appConfig.getApplicationName() : "Job Service";
         final String dbPortString = Objects.requireNonNull(appConfig.getDatabasePort());
 
-        try{
-            // Open a connection.
-            final PGSimpleDataSource dbSource = new PGSimpleDataSource();
+        final PGSimpleDataSource dbSource = new PGSimpleDataSource();
+        try {
             dbSource.setServerNames(new String[]{appConfig.getDatabaseHost()});
             dbSource.setPortNumbers(new int[]{Integer.parseInt(dbPortString)});
-            dbSource.setDatabaseName(appConfig.getDatabaseName());
-            dbSource.setUser(appConfig.getDatabaseUsername());
-            dbSource.setPassword(appConfig.getDatabasePassword());
-            dbSource.setApplicationName(appname);
-
-            LOG.debug("Connecting to database...");
-            conn = dbSource.getConnection();
-        } catch (final NumberFormatException ex){
+        } catch (final NumberFormatException ex) {
             LOG.error("Invalid database port: {}", dbPortString);
             throw ex;
-        }catch (final Exception ex) {
-            LOG.error("Cannot get connection");
-            throw ex;
         }
+        dbSource.setDatabaseName(appConfig.getDatabaseName());
+        dbSource.setUser(appConfig.getDatabaseUsername());
+        dbSource.setPassword(appConfig.getDatabasePassword());
+        dbSource.setApplicationName(appname);
 
-        return conn;
+        final HikariConfig poolConfig = new HikariConfig();
+        poolConfig.setPoolName(POOL_NAME);
+        poolConfig.setDataSource(dbSource);
+        poolConfig.setMaximumPoolSize(appConfig.getDatabasePoolMaxSize());
+        poolConfig.setMinimumIdle(appConfig.getDatabasePoolMinIdle());
+        poolConfig.setIdleTimeout(TimeUnit.SECONDS.toMillis(appConfig.getDatabasePoolIdleTimeoutSeconds()));
+        poolConfig.setMaxLifetime(TimeUnit.SECONDS.toMillis(appConfig.getDatabasePoolMaxLifetimeSeconds()));
+        poolConfig.setConnectionTimeout(TimeUnit.SECONDS.toMillis(appConfig.getDatabasePoolConnectionTimeoutSeconds()));
+        poolConfig.setLeakDetectionThreshold(TimeUnit.SECONDS.toMillis(appConfig.getDatabasePoolLeakDetectionThresholdSeconds()));
+        // Don't fail at start-up if the database is not yet available; the health checks report on it instead
+        poolConfig.setInitializationFailTimeout(-1);
+        if (metricRegistry != null) {
+            poolConfig.setMetricRegistry(metricRegistry);
+        }
+
+        LOG.debug("Creating database connection pool with a maximum size of {}...", poolConfig.getMaximumPoolSize());
+        return new HikariDataSource(poolConfig);
     }
 }
-
@@ -15,14 +15,11 @@
 --
 
 /*
- *  Name: internal_does_table_exist
  *
- *  Description:
- *  Checks if there is a table with the specified name
+ *  Reads a page of jobs from the benchmark partition, sorted by creation date.
+ *
+ *  Usage: pgbench -n -f get_jobs_page.sql -D page_size=100 -c 4 -T 60
+ *
  */
-CREATE OR REPLACE FUNCTION internal_does_table_exist(in_table_name VARCHAR(63))
-RETURNS BOOLEAN
-LANGUAGE SQL STABLE
-AS $$
-SELECT internal_to_regclass(quote_ident(in_table_name)) IS NOT NULL;
-$$;
+
+SELECT * FROM get_jobs('benchmark', NULL, NULL, :page_size, 0, 'create_date', NULL, false, NULL, NULL);
@@ -0,0 +1,45 @@
+--
+-- Copyright 2016-2022 Micro Focus or one of its affiliates.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--      http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+/*
+ *
+ *  Seeds the benchmark partition with jobs for measuring the latency of reading pages of jobs.
+ *
+ *  Usage: psql -v job_count=100000 -f seed_jobs.sql
+ *
+ */
+
+INSERT INTO job (partition_id, job_id, name, description, data, create_date, status, percentage_complete, job_hash)
+SELECT 'benchmark',
+       'job-' || n,
+       'Job ' || n,
+       'Benchmark job',
+       '{"benchmark": true}',
+       now() AT TIME ZONE 'UTC' - n * interval '1 second',
+       'Active',
+       0,
+       0
+FROM generate_series(1, :job_count) AS n
+ON CONFLICT DO NOTHING;
+
+INSERT INTO label (partition_id, job_id, label, value)
+SELECT 'benchmark', 'job-' || n, l.label, l.label || '-' || (n % 10)
+FROM generate_series(1, :job_count) AS n
+CROSS JOIN (VALUES ('tag:owner'), ('tag:batch')) AS l(label)
+ON CONFLICT DO NOTHING;
+
+ANALYZE job;
+ANALYZE label;
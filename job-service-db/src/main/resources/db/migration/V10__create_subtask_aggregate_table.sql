@@ -0,0 +1,84 @@
+--
+-- Copyright 2016-2022 Micro Focus or one of its affiliates.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--      http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+/*
+ *
+ *  Adds the subtask_aggregate table which holds running totals of the subtasks below each parent task
+ *
+ */
+
+-------- public.subtask_aggregate
+
+-- There is one row for each parent task that has subtasks in the subtask table, keyed in the same way as the subtask rows
+-- below it.  The counts are maintained by internal_upsert_into_subtask so that the overall status of the parent task can be
+-- worked out without reading all of its subtasks.
+CREATE TABLE IF NOT EXISTS public.subtask_aggregate
+(
+    job_identity        int4                    NOT NULL,
+    parent_path         varchar(70) COLLATE "C" NOT NULL,
+    subtask_count       int4                    NULL,
+    max_subtask_id      int4                    NOT NULL DEFAULT 0,
+    completed_count     int4                    NOT NULL DEFAULT 0,
+    failed_count        int4                    NOT NULL DEFAULT 0,
+    cancelled_count     int4                    NOT NULL DEFAULT 0,
+    paused_count        int4                    NOT NULL DEFAULT 0,
+    percentage_sum      float8                  NOT NULL DEFAULT 0.00,
+    CONSTRAINT pk_subtask_aggregate PRIMARY KEY (job_identity, parent_path)
+) PARTITION BY HASH (job_identity);
+
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF public.subtask_aggregate FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+            'subtask_aggregate_p' || i, i);
+    END LOOP;
+END $$;
+
+-- Build the totals for the subtasks which are already present
+INSERT INTO subtask_aggregate(
+    job_identity,
+    parent_path,
+    subtask_count,
+    max_subtask_id,
+    completed_count,
+    failed_count,
+    cancelled_count,
+    paused_count,
+    percentage_sum)
+SELECT job_identity,
+       parent_path,
+       MAX(subtask_id) FILTER (WHERE is_final),
+       MAX(subtask_id),
+       COUNT(*) FILTER (WHERE status = 'Completed'),
+       COUNT(*) FILTER (WHERE status = 'Failed'),
+       COUNT(*) FILTER (WHERE status = 'Cancelled'),
+       COUNT(*) FILTER (WHERE status = 'Paused'),
+       SUM(percentage_complete)
+FROM subtask
+GROUP BY job_identity, parent_path
+ON CONFLICT DO NOTHING;
+
+/*
+ **************************************************************
+ **************** DROP CHANGED FUNCTIONS **********************
+ **************************************************************
+ */
+
+DROP FUNCTION IF EXISTS internal_get_subtask_count(
+    in_job_identity INT,
+    in_parent_path VARCHAR(70)
+);
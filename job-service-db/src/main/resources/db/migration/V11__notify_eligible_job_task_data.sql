@@ -0,0 +1,41 @@
+--
+-- Copyright 2016-2022 Micro Focus or one of its affiliates.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--      http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+/*
+ *
+ *  Notifies listeners on the job_task_data_eligible channel when a job_task_data row becomes eligible to run, so that the
+ *  scheduled executor does not have to wait for its next poll
+ *
+ */
+
+DO $$
+BEGIN
+    CREATE FUNCTION internal_notify_job_task_data_eligible()
+    RETURNS TRIGGER
+    LANGUAGE plpgsql
+    AS 'BEGIN /* Forward Declaration */ RETURN NULL; END';
+EXCEPTION WHEN duplicate_function THEN
+END $$;
+
+-- The trigger is used rather than notifying from each function which writes to job_task_data, as partitions are also released by
+-- clearing the suspended flag directly.
+DROP TRIGGER IF EXISTS trg_job_task_data_eligible ON public.job_task_data;
+
+CREATE TRIGGER trg_job_task_data_eligible
+    AFTER INSERT OR UPDATE OF eligible_to_run_date, suspended ON public.job_task_data
+    FOR EACH ROW
+    WHEN (NEW.eligible_to_run_date IS NOT NULL AND NOT NEW.suspended)
+    EXECUTE FUNCTION internal_notify_job_task_data_eligible();
@@ -0,0 +1,28 @@
+--
+-- Copyright 2016-2022 Micro Focus or one of its affiliates.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--      http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+/*
+ *
+ *  Adds a lease to job_task_data so that several scheduled executors can claim dependent jobs to dispatch without sending
+ *  the same job twice
+ *
+ */
+
+ALTER TABLE job_task_data
+    ADD COLUMN IF NOT EXISTS lease_owner VARCHAR(128) NULL;
+
+ALTER TABLE job_task_data
+    ADD COLUMN IF NOT EXISTS lease_expiry TIMESTAMP NULL;
@@ -0,0 +1,25 @@
+--
+-- Copyright 2016-2022 Micro Focus or one of its affiliates.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--      http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+/*
+ *
+ *  Adds an index to find the job_task_data rows which are leased to a scheduled executor
+ *
+ */
+
+CREATE INDEX IF NOT EXISTS idx_job_task_data_lease_owner
+    ON public.job_task_data (lease_owner)
+    WHERE lease_owner IS NOT NULL;
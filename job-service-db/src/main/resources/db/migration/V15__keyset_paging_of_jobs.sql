@@ -0,0 +1,58 @@
+--
+-- Copyright 2016-2022 Micro Focus or one of its affiliates.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--      http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+/*
+ *
+ *  Supports keyset paging of jobs.  The get_jobs function now takes the sort key and identifier of the last job on the previous
+ *  page, and returns the sort key of each job, so its signature changes.  Composite indexes are added so that each page can be
+ *  read by seeking straight to its first job, however deep it is.
+ *
+ *  The description and data columns are not indexed as their values are unbounded.
+ *
+ */
+
+DROP FUNCTION IF EXISTS get_jobs(
+    in_partition_id VARCHAR(40),
+    in_job_id_starts_with VARCHAR(48),
+    in_status_type VARCHAR(20),
+    in_limit INT,
+    in_offset INT,
+    in_sort_field VARCHAR(20),
+    in_sort_label VARCHAR(255),
+    in_sort_ascending BOOLEAN,
+    in_labels VARCHAR(255)[],
+    in_filter VARCHAR(255)
+);
+
+CREATE INDEX IF NOT EXISTS idx_job_partition_id_name_job_id
+    ON public.job
+        USING btree (partition_id, name, job_id);
+
+CREATE INDEX IF NOT EXISTS idx_job_partition_id_create_date_job_id
+    ON public.job
+        USING btree (partition_id, create_date, job_id);
+
+CREATE INDEX IF NOT EXISTS idx_job_partition_id_last_update_date_job_id
+    ON public.job
+        USING btree (partition_id, last_update_date, job_id);
+
+CREATE INDEX IF NOT EXISTS idx_job_partition_id_status_job_id
+    ON public.job
+        USING btree (partition_id, status, job_id);
+
+CREATE INDEX IF NOT EXISTS idx_job_partition_id_percentage_complete_job_id
+    ON public.job
+        USING btree (partition_id, percentage_complete, job_id);
@@ -0,0 +1,81 @@
+--
+-- Copyright 2016-2022 Micro Focus or one of its affiliates.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--      http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+
+/*
+ *
+ *  Adds the job_status_counts table which holds the number of jobs in each partition with each status, so that jobs can be
+ *  counted without scanning them
+ *
+ */
+
+-------- public.job_status_counts
+
+-- The counts are maintained by statement-level triggers on the job table, rather than by each function which writes to it, so
+-- that every insert, status change and delete is reflected in the same transaction.
+CREATE TABLE IF NOT EXISTS public.job_status_counts
+(
+    partition_id varchar(40) NOT NULL,
+    status       job_status  NOT NULL,
+    count        int8        NOT NULL DEFAULT 0,
+    CONSTRAINT pk_job_status_counts PRIMARY KEY (partition_id, status)
+);
+
+DO $$
+BEGIN
+    CREATE FUNCTION internal_update_job_status_counts()
+    RETURNS TRIGGER
+    LANGUAGE plpgsql
+    AS 'BEGIN /* Forward Declaration */ RETURN NULL; END';
+EXCEPTION WHEN duplicate_function THEN
+END $$;
+
+-- Transition tables cannot be used with a column list, so the update trigger fires for every update and the function ignores
+-- those which do not change any statuses.
+DROP TRIGGER IF EXISTS trg_job_status_counts_insert ON public.job;
+DROP TRIGGER IF EXISTS trg_job_status_counts_update ON public.job;
+DROP TRIGGER IF EXISTS trg_job_status_counts_delete ON public.job;
+
+CREATE TRIGGER trg_job_status_counts_insert
+    AFTER INSERT ON public.job
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION internal_update_job_status_counts();
+
+CREATE TRIGGER trg_job_status_counts_update
+    AFTER UPDATE ON public.job
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION internal_update_job_status_counts();
+
+CREATE TRIGGER trg_job_status_counts_delete
+    AFTER DELETE ON public.job
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION internal_update_job_status_counts();
+
+-- Build the counts for the jobs which are already present.  The triggers above block writes to the job table until this
+-- migration is committed, so no changes can be missed.
+INSERT INTO job_status_counts(
+    partition_id,
+    status,
+    count)
+SELECT partition_id,
+       status,
+       COUNT(*)
+FROM job
+GROUP BY partition_id, status
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,43 @@
+--
+-- Copyright 2016-2022 Micro Focus or one of its affiliates.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--      http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+
+/*
+ *
+ *  The get_job and get_jobs functions now return the labels of each job as a pair of arrays, rather than returning a row for
+ *  each label which repeats the rest of the job, so their return types change.
+ *
+ */
+
+DROP FUNCTION IF EXISTS get_job(
+    in_partition_id VARCHAR(40),
+    in_job_id VARCHAR(48)
+);
+
+DROP FUNCTION IF EXISTS get_jobs(
+    in_partition_id VARCHAR(40),
+    in_job_id_starts_with VARCHAR(48),
+    in_status_type VARCHAR(20),
+    in_limit INT,
+    in_offset INT,
+    in_sort_field VARCHAR(20),
+    in_sort_label VARCHAR(255),
+    in_sort_ascending BOOLEAN,
+    in_labels VARCHAR(255)[],
+    in_filter VARCHAR(255),
+    in_after_job_id VARCHAR(48),
+    in_after_sort_key TEXT
+);
@@ -0,0 +1,38 @@
+--
+-- Copyright 2016-2022 Micro Focus or one of its affiliates.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--      http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+/*
+ *
+ *  Adds the job_status_count_deltas table, which the job table triggers append to instead of updating the job_status_counts rows
+ *  directly
+ *
+ */
+
+-------- public.job_status_count_deltas
+
+-- Each statement which changes the number of jobs with a status inserts a new row here rather than updating the single
+-- job_status_counts row for the partition and status, so concurrent transactions do not wait for each other's row locks.
+-- The rows are added to job_status_counts and removed from here periodically by the fold_job_status_counts procedure.
+CREATE TABLE IF NOT EXISTS public.job_status_count_deltas
+(
+    partition_id varchar(40) NOT NULL,
+    status       job_status  NOT NULL,
+    count        int8        NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_job_status_count_deltas_partition_id
+    ON public.job_status_count_deltas
+        USING btree (partition_id);
@@ -0,0 +1,48 @@
+--
+-- Copyright 2016-2022 Micro Focus or one of its affiliates.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--      http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+/*
+ **************************************************************
+ **************** DROP CHANGED FUNCTIONS **********************
+ **************************************************************
+ */
+
+DROP FUNCTION IF EXISTS internal_update_job_progress(
+    in_partition_id VARCHAR(40),
+    in_job_id ANYELEMENT
+);
+
+/*
+ **************************************************************
+ ************ FORWARD DECLARE INTERNAL FUNCTIONS **************
+ **************************************************************
+ */
+
+DO $$
+BEGIN
+    CREATE FUNCTION internal_update_job_progress(
+        in_partition_id VARCHAR(40),
+        in_job_ids VARCHAR(48)[]
+    )
+    RETURNS TABLE(
+        partition_id VARCHAR(40),
+        job_id VARCHAR(48),
+        status job_status
+    )
+    LANGUAGE plpgsql VOLATILE
+    AS 'BEGIN /* Forward Declaration */ END';
+EXCEPTION WHEN duplicate_function THEN
+END $$;
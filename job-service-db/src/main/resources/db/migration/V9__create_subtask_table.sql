@@ -0,0 +1,212 @@
+--
+-- Copyright 2016-2022 Micro Focus or one of its affiliates.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--      http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+/*
+ *
+ *  Replaces the dynamically-created task tables with a single subtask table
+ *
+ */
+
+-------- public.subtask
+
+-- Subtask rows are keyed by the identity of the job and the path of the parent task below the job, so that for job 'J' with
+-- identity 5 the subtask 'J.1.3*' is stored with job_identity 5, parent_path '.1' and subtask_id 3.  The path uses the "C"
+-- collation so that all the descendants of a task can be found with a prefix range scan of the primary key.
+CREATE TABLE IF NOT EXISTS public.subtask
+(
+    job_identity        int4                    NOT NULL,
+    parent_path         varchar(70) COLLATE "C" NOT NULL,
+    subtask_id          int4                    NOT NULL,
+    create_date         timestamp               NOT NULL,
+    status              job_status              NOT NULL DEFAULT 'Waiting'::job_status,
+    percentage_complete float8                  NOT NULL DEFAULT 0.00,
+    failure_details     text                    NULL,
+    is_final            bool                    NOT NULL DEFAULT false,
+    CONSTRAINT pk_subtask PRIMARY KEY (job_identity, parent_path, subtask_id)
+) PARTITION BY HASH (job_identity);
+
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF public.subtask FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+            'subtask_p' || i, i);
+    END LOOP;
+END $$;
+
+/*
+ **************************************************************
+ **************** MIGRATE LEGACY TASK TABLES ******************
+ **************************************************************
+ */
+
+-- Copy the subtask rows of jobs that are still in progress into the new table, and queue every legacy task table to be
+-- dropped by drop_deleted_task_tables(), which is called periodically by the scheduled executor.
+DO $$
+DECLARE
+    v_task_table RECORD;
+
+BEGIN
+    FOR v_task_table IN
+        SELECT t.table_name,
+               t.job_identity,
+               t.parent_path,
+               j.identity IS NOT NULL
+                   AND NOT EXISTS(SELECT 1 FROM deleted_parent_table_log d WHERE d.table_name = t.table_name) AS is_live
+        FROM
+        (
+            SELECT c.relname::VARCHAR(63) AS table_name,
+                   CAST(SUBSTRING(c.relname FROM '^task_([0-9]+)') AS INT) AS job_identity,
+                   SUBSTRING(c.relname FROM '^task_[0-9]+(.*)$') AS parent_path
+            FROM pg_class c
+            INNER JOIN pg_namespace n ON n.oid = c.relnamespace
+            WHERE n.nspname = 'public'
+                AND c.relkind = 'r'
+                AND c.relname ~ '^task_[0-9]+(\.[0-9]+\*?)*$'
+        ) t
+        LEFT JOIN job j
+            ON j.identity = t.job_identity
+            AND j.status NOT IN ('Completed', 'Cancelled')
+    LOOP
+        IF v_task_table.is_live THEN
+            EXECUTE format($FORMAT_STR$
+                INSERT INTO subtask(
+                    job_identity, parent_path, subtask_id, create_date, status, percentage_complete, failure_details, is_final)
+                SELECT $1, $2, subtask_id, create_date, status, percentage_complete, failure_details, is_final
+                FROM %1$I
+                ON CONFLICT DO NOTHING
+            $FORMAT_STR$, v_task_table.table_name)
+            USING v_task_table.job_identity, v_task_table.parent_path;
+        END IF;
+
+        INSERT INTO delete_log VALUES (v_task_table.table_name);
+    END LOOP;
+
+    -- Every legacy table is now queued in delete_log so the parent table log does not need to be expanded
+    DELETE FROM deleted_parent_table_log;
+END $$;
+
+/*
+ **************************************************************
+ **************** DROP CHANGED FUNCTIONS **********************
+ **************************************************************
+ */
+
+DROP FUNCTION IF EXISTS internal_create_task_table(in_table_name VARCHAR(63));
+DROP FUNCTION IF EXISTS internal_does_table_exist(in_table_name VARCHAR(63));
+DROP FUNCTION IF EXISTS internal_drop_task_tables(
+    in_partition_id VARCHAR(40),
+    in_task_id VARCHAR(70)
+);
+DROP FUNCTION IF EXISTS internal_get_subtask_count(
+    in_task_table_name VARCHAR(63)
+);
+DROP FUNCTION IF EXISTS internal_get_task_status(
+    in_task_table_name VARCHAR(63)
+);
+DROP FUNCTION IF EXISTS internal_get_task_table_name(
+    in_partition_id VARCHAR(40),
+    in_task_id VARCHAR(70)
+);
+DROP FUNCTION IF EXISTS internal_upsert_into_task_table(
+    in_task_table_name VARCHAR(63),
+    in_task_id VARCHAR(70),
+    in_status job_status,
+    in_percentage_complete DOUBLE PRECISION,
+    in_failure_details TEXT
+);
+
+/*
+ **************************************************************
+ ************ FORWARD DECLARE INTERNAL FUNCTIONS **************
+ **************************************************************
+ */
+
+DO $$
+BEGIN
+    CREATE FUNCTION internal_delete_subtasks(
+        in_partition_id VARCHAR(40),
+        in_task_id VARCHAR(70)
+    )
+    RETURNS VOID
+    LANGUAGE plpgsql
+    AS 'BEGIN /* Forward Declaration */ END';
+EXCEPTION WHEN duplicate_function THEN
+END $$;
+
+DO $$
+BEGIN
+    CREATE FUNCTION internal_get_job_identity(
+        in_partition_id VARCHAR(40),
+        in_job_id VARCHAR(48)
+    )
+    RETURNS INT
+    LANGUAGE SQL STABLE
+    AS '/* Forward Declaration */ SELECT NULL::INT';
+EXCEPTION WHEN duplicate_function THEN
+END $$;
+
+DO $$
+BEGIN
+    CREATE FUNCTION internal_get_subtask_count(
+        in_job_identity INT,
+        in_parent_path VARCHAR(70)
+    )
+    RETURNS INT
+    LANGUAGE SQL STABLE
+    AS '/* Forward Declaration */ SELECT NULL::INT';
+EXCEPTION WHEN duplicate_function THEN
+END $$;
+
+DO $$
+BEGIN
+    CREATE FUNCTION internal_get_task_path(in_task_id VARCHAR(70))
+    RETURNS VARCHAR(70)
+    LANGUAGE SQL IMMUTABLE
+    AS '/* Forward Declaration */ SELECT NULL::VARCHAR(70)';
+EXCEPTION WHEN duplicate_function THEN
+END $$;
+
+DO $$
+BEGIN
+    CREATE FUNCTION internal_get_task_status(
+        in_job_identity INT,
+        in_parent_path VARCHAR(70)
+    )
+    RETURNS TABLE(
+        status job_status,
+        percentage_complete DOUBLE PRECISION,
+        failure_details TEXT
+    )
+    LANGUAGE plpgsql STABLE
+    AS 'BEGIN /* Forward Declaration */ END';
+EXCEPTION WHEN duplicate_function THEN
+END $$;
+
+DO $$
+BEGIN
+    CREATE FUNCTION internal_upsert_into_subtask(
+        in_job_identity INT,
+        in_task_id VARCHAR(70),
+        in_status job_status,
+        in_percentage_complete DOUBLE PRECISION,
+        in_failure_details TEXT
+    )
+    RETURNS VOID
+    LANGUAGE plpgsql
+    AS 'BEGIN /* Forward Declaration */ END';
+EXCEPTION WHEN duplicate_function THEN
+END $$;
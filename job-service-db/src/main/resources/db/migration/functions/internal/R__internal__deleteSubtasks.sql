@@ -0,0 +1,55 @@
+--
+-- Copyright 2016-2022 Micro Focus or one of its affiliates.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--      http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+/*
+ *  Name: internal_delete_subtasks
+ *
+ *  Description:
+ *  Deletes the subtask rows and totals belonging to the specified task and all its subtasks
+ */
+CREATE OR REPLACE FUNCTION internal_delete_subtasks(
+    in_partition_id VARCHAR(40),
+    in_task_id VARCHAR(70)
+)
+RETURNS VOID
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    v_job_identity INT;
+    v_task_path VARCHAR(70);
+
+BEGIN
+    v_job_identity = internal_get_job_identity(in_partition_id, internal_get_job_id(in_task_id));
+    v_task_path = internal_get_task_path(in_task_id);
+
+    IF v_task_path = '' THEN
+        -- All the subtasks of the job are being removed
+        DELETE FROM subtask
+        WHERE job_identity = v_job_identity;
+
+        DELETE FROM subtask_aggregate
+        WHERE job_identity = v_job_identity;
+    ELSE
+        DELETE FROM subtask
+        WHERE job_identity = v_job_identity
+            AND (parent_path = v_task_path OR parent_path LIKE v_task_path || '.%');
+
+        DELETE FROM subtask_aggregate
+        WHERE job_identity = v_job_identity
+            AND (parent_path = v_task_path OR parent_path LIKE v_task_path || '.%');
+    END IF;
+END
+$$;
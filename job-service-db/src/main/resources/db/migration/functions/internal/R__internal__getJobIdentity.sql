@@ -15,21 +15,17 @@
 --
 
 /*
- *  Name: internal_get_task_table_name
+ *  Name: internal_get_job_identity
  *
  *  Description:
- *  Subtask structure is stored in dynamically-created tables.  This function builds the table name
- *  used for a given parent task.
+ *  Returns the identity of the specified job, which is used to key its subtasks, or NULL if the job does not exist.
  */
-CREATE OR REPLACE FUNCTION internal_get_task_table_name(
+CREATE OR REPLACE FUNCTION internal_get_job_identity(
     in_partition_id VARCHAR(40),
-    in_task_id VARCHAR(70)
+    in_job_id VARCHAR(48)
 )
-RETURNS VARCHAR(63)
+RETURNS INT
 LANGUAGE SQL STABLE
 AS $$
-    SELECT 'task_' || regexp_replace(
-        in_task_id,
-        '^[^\.]*',
-        (SELECT identity::text FROM job WHERE partition_id = in_partition_id AND job_id = internal_get_job_id(in_task_id)));
+SELECT identity FROM job WHERE partition_id = in_partition_id AND job_id = in_job_id;
 $$;
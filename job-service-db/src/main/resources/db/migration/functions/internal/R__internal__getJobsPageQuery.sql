@@ -0,0 +1,152 @@
+--
+-- Copyright 2016-2022 Micro Focus or one of its affiliates.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--      http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+/*
+ *  Name: internal_get_jobs_page_query
+ *
+ *  Description:
+ *  Builds the query which selects a page of jobs for get_jobs(), update_jobs_progress() and get_jobs_cursor().
+ *  The query returns the job_id and sort_value of each job on the page, ordered by sort_value and then job_id in the requested
+ *  direction, and takes no locks.
+ *
+ * in_sort_field: name of the column to sort by
+ * in_sort_ascending: true to sort ascending, false to sort descending
+ * in_after_job_id: identifier of the last job on the previous page, to return the page which follows it
+ * in_after_sort_key: sort key of the last job on the previous page, as returned in the sort_key column
+ *
+ * Jobs with the same sort key are ordered by job_id, so that paging from one job to the next is well defined.
+ */
+CREATE OR REPLACE FUNCTION internal_get_jobs_page_query(
+    in_partition_id VARCHAR(40),
+    in_job_id_starts_with VARCHAR(48),
+    in_status_type VARCHAR(20),
+    in_limit INT,
+    in_offset INT,
+    in_sort_field VARCHAR(20),
+    in_sort_label VARCHAR(255),
+    in_sort_ascending BOOLEAN,
+    in_labels VARCHAR(255)[],
+    in_filter VARCHAR(255),
+    in_after_job_id VARCHAR(48),
+    in_after_sort_key TEXT
+)
+RETURNS VARCHAR
+LANGUAGE plpgsql STABLE
+AS $$
+DECLARE
+    sql VARCHAR;
+    escapedJobIdStartsWith VARCHAR;
+    whereOrAnd VARCHAR(7) = ' WHERE ';
+    andConst CONSTANT VARCHAR(5) = ' AND ';
+    sortExpression VARCHAR;
+    sortNullable BOOLEAN;
+    sortDirection VARCHAR(4);
+
+BEGIN
+    -- Select the rows from the job table:
+    --   If the in_job_id param is specified, only those rows starting with that param will be returned.
+    --   If the in_status_type param is
+    --      NotCompleted - only those results with statuses other than Completed will be returned;
+    --      Completed - only those results with Completed status will be returned;
+    --      Inactive - only those results with inactive statuses (i.e. Completed, Failed, Cancelled) will be returned;
+    --      NotFinished - only those results with unfinished statuses (ie. Active, Paused, Waiting) will be returned;
+    --      Anything else returns all statuses.
+    -- Also accepts in_limit and in_offset params to support paging and limiting the number of rows returned.
+    IF in_sort_label IS NOT NULL AND in_sort_label != '' THEN
+        sortExpression := '(SELECT value FROM label l WHERE job.partition_id = l.partition_id AND job.job_id = l.job_id'
+            || ' AND l.label = ' || quote_literal(in_sort_label) || ')';
+        sortNullable := TRUE;
+    ELSE
+        sortExpression := 'job.' || quote_ident(in_sort_field);
+        sortNullable := in_sort_field IN ('name', 'description', 'data');
+    END IF;
+
+    sortDirection := CASE WHEN in_sort_ascending THEN 'ASC' ELSE 'DESC' END;
+
+    sql := 'SELECT job.job_id, ' || sortExpression || ' AS sort_value FROM job';
+
+    IF in_labels IS NOT NULL AND ARRAY_LENGTH(in_labels, 1) > 0 THEN
+        sql := sql || whereOrAnd || ' EXISTS ( SELECT 1 FROM public.label lbl WHERE lbl.partition_id = job.partition_id'
+            || ' AND lbl.job_id = job.job_id AND lbl.label = ANY(' || quote_literal(in_labels) || ')) ';
+        whereOrAnd := andConst;
+    END IF;
+
+    sql := sql || whereOrAnd || ' job.partition_id = ' || quote_literal(in_partition_id);
+    whereOrAnd := andConst;
+
+    IF in_job_id_starts_with IS NOT NULL AND in_job_id_starts_with != '' THEN
+        escapedJobIdStartsWith = replace(replace(quote_literal(in_job_id_starts_with), '_', '\_'), '%', '\%');
+        escapedJobIdStartsWith = left(escapedJobIdStartsWith, char_length(escapedJobIdStartsWith) - 1) || '%''';
+        sql := sql || whereOrAnd || ' job.job_id LIKE ' || escapedJobIdStartsWith;
+        whereOrAnd := andConst;
+    END IF;
+
+
+    IF in_status_type IS NOT NULL THEN
+        IF in_status_type = 'NotCompleted' THEN
+            sql := sql || whereOrAnd || $q$ status IN ('Active', 'Paused', 'Waiting', 'Cancelled', 'Failed')$q$;
+            whereOrAnd := andConst;
+        ELSIF in_status_type = 'Completed' THEN
+            sql := sql || whereOrAnd || $q$ status IN ('Completed')$q$;
+            whereOrAnd := andConst;
+        ELSIF in_status_type = 'Inactive' THEN
+            sql := sql || whereOrAnd || $q$ status IN ('Completed', 'Cancelled', 'Failed')$q$;
+            whereOrAnd := andConst;
+        ELSIF in_status_type = 'NotFinished' THEN
+            sql := sql || whereOrAnd || $q$ status IN ('Active', 'Paused', 'Waiting')$q$;
+            whereOrAnd := andConst;
+        END IF;
+    END IF;
+
+    -- Seek past the last job on the previous page, bearing in mind that nulls sort last in ascending order and first in
+    -- descending order
+    IF in_after_job_id IS NOT NULL THEN
+        sql := sql || whereOrAnd || '(' ||
+            CASE
+                WHEN in_after_sort_key IS NULL AND in_sort_ascending THEN
+                    sortExpression || ' IS NULL AND job.job_id > ' || quote_literal(in_after_job_id)
+                WHEN in_after_sort_key IS NULL THEN
+                    sortExpression || ' IS NOT NULL OR job.job_id < ' || quote_literal(in_after_job_id)
+                WHEN in_sort_ascending THEN
+                    '(' || sortExpression || ', job.job_id) > (' || quote_literal(in_after_sort_key) || ', '
+                        || quote_literal(in_after_job_id) || ')'
+                        || CASE WHEN sortNullable THEN ' OR ' || sortExpression || ' IS NULL' ELSE '' END
+                ELSE
+                    '(' || sortExpression || ', job.job_id) < (' || quote_literal(in_after_sort_key) || ', '
+                        || quote_literal(in_after_job_id) || ')'
+            END || ')';
+        whereOrAnd := andConst;
+    END IF;
+
+    IF in_filter IS NOT NULL THEN
+        sql := sql || whereOrAnd || in_filter;
+    END IF;
+
+    sql := sql || ' ORDER BY ' || sortExpression || ' ' || sortDirection || ', job.job_id ' || sortDirection;
+
+    IF in_limit > 0 THEN
+        sql := sql || ' LIMIT ' || in_limit;
+    ELSE
+        sql := sql || ' LIMIT 25';
+    END IF;
+
+    IF in_offset > 0 THEN
+        sql := sql || ' OFFSET ' || in_offset;
+    END IF;
+
+    RETURN sql;
+END
+$$;
@@ -15,30 +15,15 @@
 --
 
 /*
- *  Name: internal_get_subtask_count
+ *  Name: internal_get_task_path
  *
  *  Description:
- *  Returns the number of subtasks that should be or will be in the specified task table, or NULL if it is not yet known.
+ *  Returns the portion of the specified task id below the job id (e.g. '.1.3*' for 'J.1.3*'), or an empty string if this is the
+ *  id of the top-level task (i.e. the job)
  */
-CREATE OR REPLACE FUNCTION internal_get_subtask_count(
-    in_task_table_name VARCHAR(63)
-)
-RETURNS INT
-LANGUAGE plpgsql STABLE
+CREATE OR REPLACE FUNCTION internal_get_task_path(in_task_id VARCHAR(70))
+RETURNS VARCHAR(70)
+LANGUAGE SQL IMMUTABLE
 AS $$
-DECLARE
-    subtask_count INT;
-
-BEGIN
-    EXECUTE format($FORMAT_STR$
-        SELECT(
-            SELECT subtask_id
-            FROM %1$I
-            WHERE is_final
-        )
-    $FORMAT_STR$, in_task_table_name)
-    INTO STRICT subtask_count;
-
-    RETURN subtask_count;
-END
+SELECT SUBSTRING(in_task_id FROM '^[^\.]*(.*)$')::VARCHAR(70);
 $$;
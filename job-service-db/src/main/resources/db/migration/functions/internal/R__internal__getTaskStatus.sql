@@ -18,10 +18,11 @@
  *  Name: internal_get_task_status
  *
  *  Description:
- *  Returns the overall status and percentage complete for the task from the subtask table
+ *  Returns the overall status and percentage complete for the task from the totals held for its subtasks
  */
 CREATE OR REPLACE FUNCTION internal_get_task_status(
-    in_task_table_name VARCHAR(63)
+    in_job_identity INT,
+    in_parent_path VARCHAR(70)
 )
 RETURNS TABLE(
     status job_status,
@@ -31,62 +32,41 @@ RETURNS TABLE(
 LANGUAGE plpgsql STABLE
 AS $$
 DECLARE
-    v_subtask_count INT;
-    v_completed_task_count INT;
+    v_totals subtask_aggregate%ROWTYPE;
 
 BEGIN
-    -- Get the total number of subtasks
-    v_subtask_count = internal_get_subtask_count(in_task_table_name);
-
-    -- Get the number of completed subtasks
-    EXECUTE format($FORMAT_STR$
-        SELECT COUNT(*) FROM %1$I
-        WHERE status = 'Completed';
-    $FORMAT_STR$, in_task_table_name)
-    INTO STRICT v_completed_task_count;
+    -- Get the totals for the subtasks
+    SELECT *
+    INTO v_totals
+    FROM subtask_aggregate agg
+    WHERE agg.job_identity = in_job_identity
+        AND agg.parent_path = in_parent_path;
 
     -- Return the overall status
-    IF v_subtask_count = v_completed_task_count THEN
+    IF v_totals.subtask_count = v_totals.completed_count THEN
         -- All the subtasks are completed so just return this
         RETURN QUERY SELECT 'Completed'::job_status, CAST(100.00 AS DOUBLE PRECISION), CAST(NULL AS TEXT);
     ELSE
-        -- Add an extra 'Active' row in to represent missing rows
-        -- (arguably we should only do this if some rows are already complete)
-        RETURN QUERY EXECUTE format($FORMAT_STR$
-            SELECT status, percentage_complete, failure_details FROM
-            (
-                SELECT status,
-                CASE status
-                    WHEN 'Failed' THEN 1
-                    WHEN 'Cancelled' THEN 2
-                    WHEN 'Paused' THEN 3
-                    WHEN 'Active' THEN 4
-                    WHEN 'Waiting' THEN 5
-                    WHEN 'Completed' THEN 6
-                END AS importance
-                FROM
-                (
-                    SELECT status
-                    FROM %1$I
-                    UNION ALL
-                    SELECT 'Active'
-                ) tbl
-                ORDER BY importance
-                LIMIT 1
-            ) tbl1
-            CROSS JOIN
-            (
-                SELECT LEAST(COALESCE(SUM(percentage_complete) / COALESCE($1, MAX(subtask_id) + 1), 0.00), 99.7) AS percentage_complete
-                FROM %1$I
-            ) tbl2
-            CROSS JOIN
-            (
-                SELECT string_agg(failure_details, E'\n') AS failure_details
-                FROM %1$I
-                WHERE status = 'Failed'
-            ) tbl3
-        $FORMAT_STR$, in_task_table_name)
-        USING v_subtask_count;
+        -- Missing subtasks are treated as 'Active' so the status is never better than that
+        -- (arguably we should only do this if some subtasks are already complete)
+        RETURN QUERY SELECT
+            CASE
+                WHEN v_totals.failed_count > 0 THEN 'Failed'::job_status
+                WHEN v_totals.cancelled_count > 0 THEN 'Cancelled'::job_status
+                WHEN v_totals.paused_count > 0 THEN 'Paused'::job_status
+                ELSE 'Active'::job_status
+            END,
+            LEAST(
+                COALESCE(v_totals.percentage_sum / COALESCE(v_totals.subtask_count, v_totals.max_subtask_id + 1), 0.00),
+                99.7)::DOUBLE PRECISION,
+            CASE WHEN v_totals.failed_count > 0 THEN (
+                -- Failures are rare so the details are only gathered when there are some
+                SELECT string_agg(s.failure_details, E'\n')
+                FROM subtask s
+                WHERE s.job_identity = in_job_identity
+                    AND s.parent_path = in_parent_path
+                    AND s.status = 'Failed'
+            ) END;
     END IF;
 END
 $$;
@@ -29,7 +29,6 @@ LANGUAGE plpgsql STABLE
 AS $$
 DECLARE
     v_parent_task_id VARCHAR(58);
-    v_parent_task_table VARCHAR(63);
     v_is_task_completed BOOLEAN;
 
 BEGIN
@@ -55,30 +54,16 @@ BEGIN
 
     ELSE
 
-        -- Put together the parent task table name
-        v_parent_task_table = internal_get_task_table_name(in_partition_id, v_parent_task_id);
-
-        -- Check if the parent task table exists
-        IF internal_does_table_exist(v_parent_task_table) THEN
-
-            -- Lookup the status in the parent task table
-            EXECUTE format($FORMAT_STR$
-                SELECT COALESCE((
-                    SELECT status = 'Completed'
-                    FROM %1$I
-                    WHERE subtask_id = $1
-                ), FALSE)
-            $FORMAT_STR$, v_parent_task_table)
-            USING internal_get_subtask_id(in_task_id)
-            INTO STRICT v_is_task_completed;
-
-        ELSE
-
-            -- Since the parent task table doesn't exist, and we established earlier that it has not completed,
-            -- we can say that this task has not completed.
-            v_is_task_completed = FALSE;
-
-        END IF;
+        -- Lookup the status in the subtask table
+        -- If the subtask has not been reported yet then it has not completed
+        SELECT COALESCE((
+            SELECT status = 'Completed'
+            FROM subtask
+            WHERE job_identity = internal_get_job_identity(in_partition_id, internal_get_job_id(in_task_id))
+                AND parent_path = internal_get_task_path(v_parent_task_id)
+                AND subtask_id = internal_get_subtask_id(in_task_id)
+        ), FALSE)
+        INTO STRICT v_is_task_completed;
 
     END IF;
 
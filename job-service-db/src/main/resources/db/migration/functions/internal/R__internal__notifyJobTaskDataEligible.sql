@@ -0,0 +1,43 @@
+--
+-- Copyright 2016-2022 Micro Focus or one of its affiliates.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--      http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+/*
+ *  Name: internal_notify_job_task_data_eligible
+ *
+ *  Description:
+ *  Trigger function which sends a notification on the job_task_data_eligible channel when a job_task_data row becomes eligible
+ *  to run.
+ *
+ *  The payload is empty if the row is eligible to run now, or otherwise is the time that it becomes eligible to run, as whole
+ *  milliseconds since the epoch, rounded up.  Identical notifications sent in the same transaction are delivered only once, so a
+ *  transaction which makes many rows eligible only sends a few notifications.
+ */
+CREATE OR REPLACE FUNCTION internal_notify_job_task_data_eligible()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    PERFORM pg_notify(
+        'job_task_data_eligible',
+        CASE
+            WHEN NEW.eligible_to_run_date <= now() AT TIME ZONE 'UTC' THEN ''
+            ELSE CEIL(EXTRACT(EPOCH FROM NEW.eligible_to_run_date) * 1000)::BIGINT::TEXT
+        END
+    );
+
+    RETURN NULL;
+END
+$$;
@@ -32,7 +32,7 @@ LANGUAGE plpgsql
 AS $$
 DECLARE
     v_parent_task_id VARCHAR(70);
-    v_parent_task_table VARCHAR(63);
+    v_job_identity INT;
 
 BEGIN
     -- Ignore the status report if the task has already been completed
@@ -40,9 +40,9 @@ BEGIN
         RETURN;
     END IF;
 
-    -- If the task is being marked completed, then drop any subtask tables
+    -- If the task is being marked completed, then delete the rows of any subtasks
     IF in_status = 'Completed' THEN
-        PERFORM internal_drop_task_tables(in_partition_id, in_task_id);
+        PERFORM internal_delete_subtasks(in_partition_id, in_task_id);
     END IF;
 
     -- Get the parent task id
@@ -59,15 +59,12 @@ BEGIN
         WHERE partition_id = in_partition_id
             AND job_id = in_task_id;
     ELSE
-        -- Put together the parent task table name
-        v_parent_task_table = internal_get_task_table_name(in_partition_id, v_parent_task_id);
+        -- Get the identity of the job which is used to key the subtask rows
+        v_job_identity = internal_get_job_identity(in_partition_id, internal_get_job_id(in_task_id));
 
-        -- Create the parent task table if necessary
-        PERFORM internal_create_task_table(v_parent_task_table);
-
-        -- Mark up the task status in the parent task table
-        PERFORM internal_upsert_into_task_table(
-            v_parent_task_table,
+        -- Mark up the task status in the subtask table
+        PERFORM internal_upsert_into_subtask(
+            v_job_identity,
             in_task_id,
             in_status,
             in_percentage_complete,
@@ -80,7 +77,7 @@ BEGIN
             status,
             percentage_complete,
             failure_details)
-        FROM internal_get_task_status(v_parent_task_table);
+        FROM internal_get_task_status(v_job_identity, internal_get_task_path(v_parent_task_id));
     END IF;
 END
 $$;
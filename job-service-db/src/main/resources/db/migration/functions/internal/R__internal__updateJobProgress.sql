@@ -18,11 +18,16 @@
  *  Name: internal_update_job_progress
  *
  *  Description:
- *  Updates the percentage_complete in the job table with data from completed_subtask_report table.
+ *  Applies the outstanding completion reports held in the completed_subtask_report table for the specified jobs, updating their
+ *  task tables and their status and percentage_complete in the job table.
+ *  The reports for all of the specified jobs are removed from the completed_subtask_report table in a single statement.
+ *  Returns the current status of each of the specified jobs.
+ *
+ *  The caller is expected to hold a lock on the job rows.
  */
 CREATE OR REPLACE FUNCTION internal_update_job_progress(
     in_partition_id VARCHAR(40),
-    in_job_id ANYELEMENT
+    in_job_ids VARCHAR(48)[]
 )
 RETURNS TABLE(
     partition_id VARCHAR(40),
@@ -32,46 +37,28 @@ RETURNS TABLE(
 LANGUAGE plpgsql VOLATILE
 AS $$
 DECLARE
-    taskId VARCHAR(70);
-    subtask_array VARCHAR[];
-    type_param regtype = pg_typeof(in_job_id);
-    job_id_array VARCHAR[];
+    v_task_id VARCHAR(70);
 
 BEGIN
-    -- Check in_job_id type and return an exception if invalid
-    -- If in_job_id is an array, its value is passed onto job_id_array
-    -- If in_job_id is a varchar, it increments job_id_array
-    IF type_param = 'character varying[]'::regtype THEN
-        job_id_array = in_job_id;
-    ELSEIF type_param ='character varying'::regtype THEN
-        job_id_array = array_agg(in_job_id);
-    ELSE
-        RAISE EXCEPTION 'Invalid type for in_job_id: %', type_param;
-    END IF;
-
-    -- Deleting the completed subtasks for that job from completed_subtask_report table
-    -- Add the results to subtask_array
-    WITH completed_subtask AS (
-        DELETE FROM completed_subtask_report csr
-        WHERE csr.partition_id = in_partition_id
-            AND csr.job_id = ANY(job_id_array)
-        RETURNING csr.task_id
-    )
-
-    SELECT array_agg(task_id)
-    FROM completed_subtask
-    INTO subtask_array;
-
-    -- Loop through subtask_array and update the job percentage_complete
-    IF subtask_array IS NOT NULL THEN
-        FOREACH taskId IN ARRAY subtask_array
-        LOOP
-            PERFORM internal_report_task_status(in_partition_id, taskId , 'Completed', 100.00, NULL);
-        END LOOP;
-    END IF;
+    -- Remove the completed subtask reports for the jobs and apply each distinct subtask once
+    FOR v_task_id IN
+        WITH completed_subtask AS (
+            DELETE FROM completed_subtask_report csr
+            WHERE csr.partition_id = in_partition_id
+                AND csr.job_id = ANY(in_job_ids)
+            RETURNING csr.task_id
+        )
+        SELECT DISTINCT cs.task_id
+        FROM completed_subtask cs
+        ORDER BY cs.task_id
+    LOOP
+        PERFORM internal_report_task_status(in_partition_id, v_task_id, 'Completed', 100.00, NULL);
+    END LOOP;
 
     RETURN QUERY
     SELECT j.partition_id, j.job_id, j.status
-    FROM job j;
+    FROM job j
+    WHERE j.partition_id = in_partition_id
+        AND j.job_id = ANY(in_job_ids);
 END
 $$;
@@ -0,0 +1,60 @@
+--
+-- Copyright 2016-2022 Micro Focus or one of its affiliates.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--      http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+
+/*
+ *  Name: internal_update_job_status_counts
+ *
+ *  Description:
+ *  Statement-level trigger function which records the changes made to the job table by a statement in the
+ *  job_status_count_deltas table.
+ *
+ *  The rows before and after the statement are netted off against each other, so a statement which does not change any statuses
+ *  does not record anything. The changes are only ever inserted as new rows, without a conflict target, so they take no locks
+ *  which other transactions could wait for. They are added to job_status_counts later by fold_job_status_counts().
+ */
+CREATE OR REPLACE FUNCTION internal_update_job_status_counts()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO job_status_count_deltas (partition_id, status, count)
+        SELECT partition_id, status, COUNT(*)
+        FROM new_rows
+        GROUP BY partition_id, status;
+
+    ELSIF TG_OP = 'UPDATE' THEN
+        INSERT INTO job_status_count_deltas (partition_id, status, count)
+        SELECT partition_id, status, SUM(delta)
+        FROM (
+            SELECT partition_id, status, 1 AS delta FROM new_rows
+            UNION ALL
+            SELECT partition_id, status, -1 AS delta FROM old_rows
+        ) changes
+        GROUP BY partition_id, status
+        HAVING SUM(delta) <> 0;
+
+    ELSIF TG_OP = 'DELETE' THEN
+        INSERT INTO job_status_count_deltas (partition_id, status, count)
+        SELECT partition_id, status, -COUNT(*)
+        FROM old_rows
+        GROUP BY partition_id, status;
+    END IF;
+
+    RETURN NULL;
+END
+$$;
@@ -0,0 +1,58 @@
+--
+-- Copyright 2016-2022 Micro Focus or one of its affiliates.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--      http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+/*
+ *  Name: internal_update_jobs_page_progress
+ *
+ *  Description:
+ *  Applies the outstanding completion reports for a page of jobs.
+ *  Only the jobs which have outstanding completion reports are locked and updated, and they are locked in a consistent order to
+ *  avoid deadlocks. The locks are held until the end of the calling transaction.
+ */
+CREATE OR REPLACE FUNCTION internal_update_jobs_page_progress(
+    in_partition_id VARCHAR(40),
+    in_job_ids VARCHAR(48)[]
+)
+RETURNS VOID
+LANGUAGE plpgsql VOLATILE
+AS $$
+DECLARE
+    pendingJobIdArray VARCHAR(48)[];
+
+BEGIN
+    pendingJobIdArray := ARRAY(
+        SELECT DISTINCT csr.job_id
+        FROM completed_subtask_report csr
+        WHERE csr.partition_id = in_partition_id
+          AND csr.job_id = ANY(in_job_ids)
+        ORDER BY csr.job_id
+    );
+
+    IF cardinality(pendingJobIdArray) = 0 THEN
+        RETURN;
+    END IF;
+
+    -- Take out an exclusive update lock on the job rows, in a consistent order to avoid deadlocks
+    PERFORM NULL FROM job j
+    WHERE j.partition_id = in_partition_id
+      AND j.job_id = ANY(pendingJobIdArray)
+    ORDER BY j.job_id
+        FOR UPDATE;
+
+    -- Process outstanding job updates for all of the jobs at once
+    PERFORM internal_update_job_progress(in_partition_id, pendingJobIdArray);
+END
+$$;
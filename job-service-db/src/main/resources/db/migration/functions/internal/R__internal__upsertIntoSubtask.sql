@@ -0,0 +1,113 @@
+--
+-- Copyright 2016-2022 Micro Focus or one of its affiliates.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--      http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+/*
+ *  Name: internal_upsert_into_subtask
+ *
+ *  Description:
+ *  Inserts or updates the subtask row for the specified task, and adjusts the totals held for its parent task.
+ *  The caller must hold the lock on the job row.
+ */
+CREATE OR REPLACE FUNCTION internal_upsert_into_subtask(
+    in_job_identity INT,
+    in_task_id VARCHAR(70),
+    in_status job_status,
+    in_percentage_complete DOUBLE PRECISION,
+    in_failure_details TEXT
+)
+RETURNS VOID
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    v_parent_path VARCHAR(70);
+    v_subtask_id INT;
+    v_is_final BOOLEAN;
+    v_old_status job_status;
+    v_old_percentage_complete DOUBLE PRECISION;
+
+BEGIN
+    v_parent_path = internal_get_task_path(internal_get_parent_task_id(in_task_id));
+    v_subtask_id = internal_get_subtask_id(in_task_id);
+    v_is_final = internal_is_final_task(in_task_id);
+
+    -- Get the current state of the subtask so that the parent totals can be adjusted by the difference
+    SELECT status, percentage_complete
+    INTO v_old_status, v_old_percentage_complete
+    FROM subtask
+    WHERE job_identity = in_job_identity
+        AND parent_path = v_parent_path
+        AND subtask_id = v_subtask_id;
+
+    IF FOUND THEN
+        UPDATE subtask
+        SET status = in_status,
+            percentage_complete = in_percentage_complete,
+            failure_details = in_failure_details
+        WHERE job_identity = in_job_identity
+            AND parent_path = v_parent_path
+            AND subtask_id = v_subtask_id;
+    ELSE
+        INSERT INTO subtask(
+            job_identity, parent_path, subtask_id, create_date, status, percentage_complete, failure_details, is_final)
+        VALUES (
+            in_job_identity,
+            v_parent_path,
+            v_subtask_id,
+            now() AT TIME ZONE 'UTC',
+            in_status,
+            in_percentage_complete,
+            in_failure_details,
+            v_is_final);
+    END IF;
+
+    -- Apply the difference to the parent totals, creating them when the first subtask is reported
+    INSERT INTO subtask_aggregate AS agg(
+        job_identity,
+        parent_path,
+        subtask_count,
+        max_subtask_id,
+        completed_count,
+        failed_count,
+        cancelled_count,
+        paused_count,
+        percentage_sum)
+    SELECT in_job_identity,
+           v_parent_path,
+           CASE WHEN v_is_final THEN v_subtask_id END,
+           v_subtask_id,
+           delta.completed_count,
+           delta.failed_count,
+           delta.cancelled_count,
+           delta.paused_count,
+           delta.percentage_sum
+    FROM
+    (
+        SELECT (in_status = 'Completed')::INT - COALESCE((v_old_status = 'Completed')::INT, 0) AS completed_count,
+               (in_status = 'Failed')::INT - COALESCE((v_old_status = 'Failed')::INT, 0) AS failed_count,
+               (in_status = 'Cancelled')::INT - COALESCE((v_old_status = 'Cancelled')::INT, 0) AS cancelled_count,
+               (in_status = 'Paused')::INT - COALESCE((v_old_status = 'Paused')::INT, 0) AS paused_count,
+               in_percentage_complete - COALESCE(v_old_percentage_complete, 0.00) AS percentage_sum
+    ) delta
+    ON CONFLICT (job_identity, parent_path) DO UPDATE
+    SET subtask_count = COALESCE(agg.subtask_count, EXCLUDED.subtask_count),
+        max_subtask_id = GREATEST(agg.max_subtask_id, EXCLUDED.max_subtask_id),
+        completed_count = agg.completed_count + EXCLUDED.completed_count,
+        failed_count = agg.failed_count + EXCLUDED.failed_count,
+        cancelled_count = agg.cancelled_count + EXCLUDED.cancelled_count,
+        paused_count = agg.paused_count + EXCLUDED.paused_count,
+        percentage_sum = agg.percentage_sum + EXCLUDED.percentage_sum;
+END
+$$;
@@ -59,8 +59,8 @@ BEGIN
         AND job_id = in_job_id
         AND status != 'Cancelled';
 
-    -- Drop any task tables relating to the job
-    PERFORM internal_drop_task_tables(in_partition_id, in_job_id);
+    -- Delete any subtask rows relating to the job
+    PERFORM internal_delete_subtasks(in_partition_id, in_job_id);
 
     -- Removes all related subtasks from completed_subtask_report table
     PERFORM internal_cleanup_completed_subtask_report(in_partition_id, in_job_id);
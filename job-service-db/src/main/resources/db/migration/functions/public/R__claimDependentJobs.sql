@@ -0,0 +1,69 @@
+--
+-- Copyright 2016-2022 Micro Focus or one of its affiliates.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--      http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+/*
+ *  Name: claim_dependent_jobs
+ *
+ *  Description:
+ *  Claims a batch of the dependent jobs that are now eligible to run, and returns the number of jobs claimed.  The claimed jobs
+ *  are then read with get_claimed_dependent_jobs, so that they can be streamed rather than returned all at once.
+ *
+ *  Each claimed job is leased to the specified owner for the specified number of seconds.  Jobs which are locked or leased by
+ *  another owner are skipped, so several scheduled executors can claim jobs at the same time without dispatching the same job
+ *  twice.  If an owner stops before deleting the jobs it has claimed then its leases expire and the jobs are claimed again.
+ *  An owner can reclaim its own jobs at any time, so that a job which it failed to dispatch is retried on its next poll.
+ */
+CREATE OR REPLACE FUNCTION claim_dependent_jobs(
+    in_owner VARCHAR(128),
+    in_limit INT,
+    in_lease_seconds INT
+)
+RETURNS INT
+LANGUAGE plpgsql VOLATILE
+AS $$
+DECLARE
+    v_now TIMESTAMP := now() AT TIME ZONE 'UTC';
+    v_claimed INT;
+
+BEGIN
+    WITH claimable AS (
+        SELECT jtd.partition_id, jtd.job_id
+        FROM job_task_data jtd
+        WHERE NOT jtd.suspended
+            AND jtd.eligible_to_run_date IS NOT NULL
+            AND jtd.eligible_to_run_date <= v_now  -- now eligible for running
+            AND (jtd.lease_expiry IS NULL OR jtd.lease_expiry <= v_now OR jtd.lease_owner = in_owner)
+            AND NOT EXISTS (  -- no other dependencies to wait on
+                SELECT 1
+                FROM job_dependency jd
+                WHERE jd.partition_id = jtd.partition_id
+                    AND jd.job_id = jtd.job_id
+            )
+        ORDER BY jtd.eligible_to_run_date
+        LIMIT in_limit
+        FOR UPDATE OF jtd SKIP LOCKED
+    )
+    UPDATE job_task_data jtd
+    SET lease_owner = in_owner,
+        lease_expiry = v_now + in_lease_seconds * interval '1 second'
+    FROM claimable c
+    WHERE jtd.partition_id = c.partition_id
+        AND jtd.job_id = c.job_id;
+
+    GET DIAGNOSTICS v_claimed = ROW_COUNT;
+    RETURN v_claimed;
+END
+$$;
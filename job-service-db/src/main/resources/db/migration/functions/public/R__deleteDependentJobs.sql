@@ -0,0 +1,48 @@
+--
+-- Copyright 2016-2022 Micro Focus or one of its affiliates.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--      http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+/*
+ *  Name: delete_dependent_jobs
+ *
+ *  Description:
+ *  Deletes the specified dependent jobs once they have been dispatched.
+ *  Takes in matching arrays of partition and job identifiers, and returns the number of jobs deleted
+ */
+CREATE OR REPLACE FUNCTION delete_dependent_jobs(
+    in_partition_ids VARCHAR(40)[],
+    in_job_ids VARCHAR(48)[]
+)
+RETURNS INT
+LANGUAGE plpgsql VOLATILE
+AS $$
+DECLARE
+    v_deleted INT;
+
+BEGIN
+    -- Raise exception if the arrays do not match
+    IF cardinality(in_partition_ids) <> cardinality(in_job_ids) THEN
+        RAISE EXCEPTION 'The number of partition identifiers does not match the number of job identifiers';
+    END IF;
+
+    DELETE FROM job_task_data jtd
+    USING unnest(in_partition_ids, in_job_ids) AS d(partition_id, job_id)
+    WHERE jtd.partition_id = d.partition_id
+        AND jtd.job_id = d.job_id;
+
+    GET DIAGNOSTICS v_deleted = ROW_COUNT;
+    RETURN v_deleted;
+END
+$$;
@@ -18,7 +18,7 @@
  *  Name: delete_job
  *
  *  Description:
- *  Deletes the job row and corresponding task tables.
+ *  Deletes the job row and corresponding subtask rows.
  */
 CREATE OR REPLACE FUNCTION delete_job(
     in_partition_id VARCHAR(40),
@@ -27,10 +27,6 @@ CREATE OR REPLACE FUNCTION delete_job(
 RETURNS VOID
 LANGUAGE plpgsql
 AS $$
-DECLARE
-    v_tables_to_delete TEXT[];
-    v_table_name TEXT;
-
 BEGIN
     -- Raise exception if job identifier has not been specified
     IF in_job_id IS NULL OR in_job_id = '' THEN
@@ -49,8 +45,8 @@ BEGIN
         RAISE EXCEPTION 'job_id {%} not found', in_job_id USING ERRCODE = 'P0002'; -- sqlstate no_data_found
     END IF;
 
-    -- Drop the task tables associated with the specified job
-    PERFORM internal_drop_task_tables(in_partition_id, in_job_id);
+    -- Delete the subtask rows associated with the specified job
+    PERFORM internal_delete_subtasks(in_partition_id, in_job_id);
 
     -- Remove job dependency and job task data rows
     DELETE FROM job_dependency jd WHERE jd.partition_id = in_partition_id AND jd.job_id = in_job_id;
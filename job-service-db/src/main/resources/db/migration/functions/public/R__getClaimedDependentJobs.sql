@@ -0,0 +1,54 @@
+--
+-- Copyright 2016-2022 Micro Focus or one of its affiliates.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--      http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+/*
+ *  Name: get_claimed_dependent_jobs
+ *
+ *  Description:
+ *  Returns the dependent jobs which are currently leased to the specified owner by claim_dependent_jobs.
+ */
+CREATE OR REPLACE FUNCTION get_claimed_dependent_jobs(
+    in_owner VARCHAR(128)
+)
+RETURNS TABLE(
+    partition_id VARCHAR(40),
+    job_id VARCHAR(48),
+    task_classifier VARCHAR(255),
+    task_api_version INT,
+    task_data BYTEA,
+    task_pipe VARCHAR(255),
+    target_pipe VARCHAR(255)
+)
+LANGUAGE plpgsql STABLE
+AS $$
+BEGIN
+    RETURN QUERY
+        SELECT
+            jtd.partition_id,
+            jtd.job_id,
+            jtd.task_classifier,
+            jtd.task_api_version,
+            jtd.task_data,
+            jtd.task_pipe,
+            jtd.target_pipe
+        FROM job_task_data jtd
+        WHERE jtd.lease_owner = in_owner
+            AND jtd.lease_expiry > now() AT TIME ZONE 'UTC'
+            AND NOT jtd.suspended
+        ORDER BY jtd.eligible_to_run_date;
+
+END
+$$;
@@ -29,14 +29,14 @@ RETURNS TABLE(
     name VARCHAR(255),
     description TEXT,
     data TEXT,
-    create_date TEXT,
-    last_update_date TEXT,
+    create_date BIGINT,
+    last_update_date BIGINT,
     status job_status,
     percentage_complete DOUBLE PRECISION,
     failure_details TEXT,
     actionType CHAR(6),
-    label VARCHAR(255),
-    label_value VARCHAR(255)
+    labels VARCHAR(255)[],
+    label_values VARCHAR(255)[]
 )
 LANGUAGE plpgsql VOLATILE
 AS $$
@@ -54,7 +54,7 @@ BEGIN
     FOR UPDATE;
 
     -- Process outstanding job updates
-    PERFORM internal_update_job_progress(in_partition_id, in_job_id);
+    PERFORM internal_update_job_progress(in_partition_id, ARRAY[in_job_id]);
 
     -- Return job metadata belonging to the specified job_id
     -- 'WORKER' is the only supported action type for now
@@ -63,16 +63,22 @@ BEGIN
            job.name,
            job.description,
            job.data,
-           to_char(job.create_date, 'YYYY-MM-DD"T"HH24:MI:SS.MS"Z"'),
-           to_char(job.last_update_date, 'YYYY-MM-DD"T"HH24:MI:SS.MS"Z"'),
+           FLOOR(EXTRACT(EPOCH FROM job.create_date) * 1000)::BIGINT,
+           FLOOR(EXTRACT(EPOCH FROM job.last_update_date) * 1000)::BIGINT,
            job.status,
            job.percentage_complete,
            job.failure_details,
            CAST('WORKER' AS CHAR(6)) AS actionType,
-           lbl.label,
-           lbl.value
+           lbl.labels,
+           lbl.label_values
     FROM job
-    LEFT JOIN public.label lbl ON lbl.partition_id = job.partition_id AND lbl.job_id = job.job_id
+    CROSS JOIN LATERAL (
+        SELECT array_agg(l.label ORDER BY l.label) AS labels,
+               array_agg(l.value ORDER BY l.label) AS label_values
+        FROM public.label l
+        WHERE l.partition_id = job.partition_id
+            AND l.job_id = job.job_id
+    ) lbl
     WHERE job.partition_id = in_partition_id
         AND job.job_id = in_job_id;
 
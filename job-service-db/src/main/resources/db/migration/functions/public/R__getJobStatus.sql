@@ -0,0 +1,53 @@
+--
+-- Copyright 2016-2022 Micro Focus or one of its affiliates.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--      http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+/*
+ *  Name: get_job_status
+ *
+ *  Description:
+ *  Returns the status of the specified job.
+ *
+ *  Unlike get_job this function does not lock the job row or process outstanding job updates, so it can be called in a
+ *  read-only transaction and does not block, or get blocked by, progress reporting against the same job.
+ *  As outstanding completion reports are not processed, a job whose last tasks have only just completed may still be
+ *  reported as Active.
+ */
+CREATE OR REPLACE FUNCTION get_job_status(
+    in_partition_id VARCHAR(40),
+    in_job_id VARCHAR(48)
+)
+RETURNS TABLE(
+    status job_status
+)
+LANGUAGE plpgsql STABLE
+AS $$
+BEGIN
+    -- Raise exception if the job identifier has not been specified
+    IF in_job_id IS NULL OR in_job_id = '' THEN
+        RAISE EXCEPTION 'Job identifier has not been specified' USING ERRCODE = '02000'; -- sqlstate no data
+    END IF;
+
+    RETURN QUERY
+    SELECT job.status
+    FROM job
+    WHERE job.partition_id = in_partition_id
+        AND job.job_id = in_job_id;
+
+    IF NOT FOUND THEN
+        RAISE EXCEPTION 'job_id {%} not found', in_job_id USING ERRCODE = 'P0002'; -- sqlstate no_data_found
+    END IF;
+END
+$$;
@@ -18,10 +18,16 @@
  *  Name: get_jobs
  *
  *  Description:
- *  Returns the list of job definitions in the system.
+ *  Returns the list of job definitions in the system, after applying any outstanding progress to them.
+ *  The jobs which have outstanding progress stay locked until the end of the transaction; get_jobs_cursor() reads the same page
+ *  without taking any locks.
  *
  * in_sort_field: name of the column to sort by
  * in_sort_ascending: true to sort ascending, false to sort descending
+ * in_after_job_id: identifier of the last job on the previous page, to return the page which follows it
+ * in_after_sort_key: sort key of the last job on the previous page, as returned in the sort_key column
+ *
+ * Jobs with the same sort key are ordered by job_id, so that paging from one job to the next is well defined.
  */
 CREATE OR REPLACE FUNCTION get_jobs(
     in_partition_id VARCHAR(40),
@@ -33,182 +39,83 @@ CREATE OR REPLACE FUNCTION get_jobs(
     in_sort_label VARCHAR(255),
     in_sort_ascending BOOLEAN,
     in_labels VARCHAR(255)[],
-    in_filter VARCHAR(255)
+    in_filter VARCHAR(255),
+    in_after_job_id VARCHAR(48) DEFAULT NULL,
+    in_after_sort_key TEXT DEFAULT NULL
 )
 RETURNS TABLE(
     job_id VARCHAR(48),
     name VARCHAR(255),
     description TEXT,
     data TEXT,
-    create_date TEXT,
-    last_update_date TEXT,
+    create_date BIGINT,
+    last_update_date BIGINT,
     status job_status,
     percentage_complete DOUBLE PRECISION,
     failure_details TEXT,
     actionType CHAR(6),
-    label VARCHAR(255),
-    label_value VARCHAR(255)
+    labels VARCHAR(255)[],
+    label_values VARCHAR(255)[],
+    sort_key TEXT
 )
 LANGUAGE plpgsql VOLATILE
 AS $$
 DECLARE
-    sql VARCHAR;
-    escapedJobIdStartsWith VARCHAR;
-    whereOrAnd VARCHAR(7) = ' WHERE ';
-    andConst CONSTANT VARCHAR(5) = ' AND ';
-    jobId VARCHAR(48);
+    sortDirection VARCHAR(4);
+    pageArray TEXT[];
     jobIdArray VARCHAR(48)[];
 
 BEGIN
-    -- Return all rows from the job table:
-    --   If the in_job_id param is specified, only those rows starting with that param will be returned.
-    --   If the in_status_type param is
-    --      NotCompleted - only those results with statuses other than Completed will be returned;
-    --      Completed - only those results with Completed status will be returned;
-    --      Inactive - only those results with inactive statuses (i.e. Completed, Failed, Cancelled) will be returned;
-    --      NotFinished - only those results with unfinished statuses (ie. Active, Paused, Waiting) will be returned;
-    --      Anything else returns all statuses.
-    -- Also accepts in_limit and in_offset params to support paging and limiting the number of rows returned.
+    -- Return the page of rows from the job table selected by internal_get_jobs_page_query().
     -- 'WORKER' is the only supported action type for now and this is returned.
-    sql := $q$
-        SELECT job.job_id,
-               job.name,
-               job.description,
-               job.data,
-               job.create_date,
-               job.last_update_date,
-               job.status,
-               job.percentage_complete,
-               job.failure_details,
-               CAST('WORKER' AS CHAR(6)) AS actionType,
-               lbl.label,
-               lbl.value
-        FROM
-        (SELECT
-               job.partition_id,
-               job.job_id,
-               job.name,
-               job.description,
-               job.data,
-               to_char(job.create_date, 'YYYY-MM-DD"T"HH24:MI:SS.MS"Z"') as create_date,
-               to_char(job.last_update_date, 'YYYY-MM-DD"T"HH24:MI:SS.MS"Z"') as last_update_date,
-               job.status,
-               job.percentage_complete,
-               job.failure_details,
-               CAST('WORKER' AS CHAR(6)) AS actionType
-        FROM job
-
-        $q$;
-
-    IF in_labels IS NOT NULL AND ARRAY_LENGTH(in_labels, 1) > 0 THEN
-        sql := sql || whereOrAnd || ' EXISTS ( SELECT 1 FROM public.label lbl WHERE lbl.partition_id = job.partition_id'
-            || ' AND lbl.job_id = job.job_id AND lbl.label = ANY(' || quote_literal(in_labels) || ')) ';
-        whereOrAnd := andConst;
-    END IF;
-
-    sql := sql || whereOrAnd || ' job.partition_id = ' || quote_literal(in_partition_id);
-    whereOrAnd := andConst;
-
-    IF in_job_id_starts_with IS NOT NULL AND in_job_id_starts_with != '' THEN
-        escapedJobIdStartsWith = replace(replace(quote_literal(in_job_id_starts_with), '_', '\_'), '%', '\%');
-        escapedJobIdStartsWith = left(escapedJobIdStartsWith, char_length(escapedJobIdStartsWith) - 1) || '%''';
-        sql := sql || whereOrAnd || ' job.job_id LIKE ' || escapedJobIdStartsWith;
-        whereOrAnd := andConst;
-    END IF;
-
-
-    IF in_status_type IS NOT NULL THEN
-        IF in_status_type = 'NotCompleted' THEN
-            sql := sql || whereOrAnd || $q$ status IN ('Active', 'Paused', 'Waiting', 'Cancelled', 'Failed')$q$;
-            whereOrAnd := andConst;
-        ELSIF in_status_type = 'Completed' THEN
-            sql := sql || whereOrAnd || $q$ status IN ('Completed')$q$;
-            whereOrAnd := andConst;
-        ELSIF in_status_type = 'Inactive' THEN
-            sql := sql || whereOrAnd || $q$ status IN ('Completed', 'Cancelled', 'Failed')$q$;
-            whereOrAnd := andConst;
-        ELSIF in_status_type = 'NotFinished' THEN
-            sql := sql || whereOrAnd || $q$ status IN ('Active', 'Paused', 'Waiting')$q$;
-            whereOrAnd := andConst;
-        END IF;
-    END IF;
-
-    IF in_filter IS NOT NULL THEN
-        sql := sql || whereOrAnd || in_filter;
-    END IF;
-
-    sql := sql || ' ORDER BY ' ||
-       CASE WHEN in_sort_label IS NOT NULL AND in_sort_label != ''
-         THEN '(SELECT value FROM label l WHERE job.partition_id = l.partition_id AND job.job_id = l.job_id AND l.label = ' ||
-           quote_literal(in_sort_label) || ')'
-         ELSE quote_ident(in_sort_field)
-       END ||
-        ' ' || CASE WHEN in_sort_ascending THEN 'ASC' ELSE 'DESC' END;
-
-    IF in_limit > 0 THEN
-        sql := sql || ' LIMIT ' || in_limit;
-    ELSE
-        sql := sql || ' LIMIT 25';
-    END IF;
-
-    IF in_offset > 0 THEN
-        sql := sql || ' OFFSET ' || in_offset;
-    END IF;
-    -- Join onto the labels after paging to avoid them bloating the row count
-    sql := sql || ' ) as job LEFT JOIN public.label lbl ON lbl.partition_id = job.partition_id '
-               || 'AND lbl.job_id = job.job_id';
-    sql := sql || ' ORDER BY ' ||
-       CASE WHEN in_sort_label IS NOT NULL AND in_sort_label != ''
-         THEN '(SELECT value FROM label l WHERE job.partition_id = l.partition_id AND job.job_id = l.job_id AND l.label = ' ||
-           quote_literal(in_sort_label) || ')'
-         ELSE quote_ident(in_sort_field)
-       END ||
-        ' ' || CASE WHEN in_sort_ascending THEN 'ASC' ELSE 'DESC' END;
-
-    -- Create temporary table as a base to update the job progress
-    EXECUTE 'CREATE TEMPORARY TABLE get_job_temp ON COMMIT DROP AS ' || sql;
-
-    ALTER TABLE get_job_temp ADD COLUMN id SERIAL PRIMARY KEY;
-
-    -- Create an array of job_id(s) based on the get_job_temp table
-    jobIdArray := ARRAY(SELECT DISTINCT (jt.job_id) FROM get_job_temp jt ORDER BY jt.job_id);
+    --
+    -- The page of job identifiers and sort keys is selected first, in order, and the jobs are then read along with their labels
+    -- once any outstanding progress has been applied to them.
+    sortDirection := CASE WHEN in_sort_ascending THEN 'ASC' ELSE 'DESC' END;
+
+    -- Select the page of job identifiers and sort keys, keeping their order
+    EXECUTE 'SELECT ARRAY(SELECT ARRAY[page.job_id::TEXT, page.sort_value::TEXT] FROM ('
+        || internal_get_jobs_page_query(in_partition_id, in_job_id_starts_with, in_status_type, in_limit, in_offset,
+                                        in_sort_field, in_sort_label, in_sort_ascending, in_labels, in_filter,
+                                        in_after_job_id, in_after_sort_key)
+        || ') page ORDER BY page.sort_value ' || sortDirection || ', page.job_id ' || sortDirection || ')'
+    INTO pageArray;
 
     -- Check that the array is not empty
-    IF array_length(jobIdArray, 1) > 0 THEN
-
-        FOREACH jobId IN ARRAY jobIdArray LOOP
-            -- Take out an exclusive update lock on the job row
-            PERFORM NULL FROM job j
-            WHERE j.partition_id = in_partition_id
-              AND j.job_id = jobId
-                FOR UPDATE;
+    IF cardinality(pageArray) = 0 THEN
+        RETURN;
+    END IF;
 
-            -- Process outstanding job updates
-            PERFORM internal_update_job_progress(in_partition_id, jobId);
-            UPDATE get_job_temp nt SET
-                                    status = j.status,
-                                    percentage_complete = j.percentage_complete
-            FROM job j
-            WHERE nt.job_id = j.job_id;
-        END LOOP;
+    jobIdArray := ARRAY(SELECT pageArray[i][1] FROM generate_subscripts(pageArray, 1) AS i);
 
-    END IF;
+    PERFORM internal_update_jobs_page_progress(in_partition_id, jobIdArray);
 
-    -- Return the new table created
+    -- Return the jobs in page order, with the labels of each job collected into a pair of arrays after paging
     RETURN QUERY
-        SELECT at.job_id,
-               at.name,
-               at.description,
-               at.data,
-               at.create_date,
-               at.last_update_date,
-               at.status,
-               at.percentage_complete,
-               at.failure_details,
+        SELECT j.job_id,
+               j.name,
+               j.description,
+               j.data,
+               FLOOR(EXTRACT(EPOCH FROM j.create_date) * 1000)::BIGINT,
+               FLOOR(EXTRACT(EPOCH FROM j.last_update_date) * 1000)::BIGINT,
+               j.status,
+               j.percentage_complete,
+               j.failure_details,
                CAST('WORKER' AS CHAR(6)) AS actionType,
-               at.label,
-               at.value
-        FROM get_job_temp at
-        ORDER BY at.id;
+               lbl.labels,
+               lbl.label_values,
+               pageArray[page.page_position][2]
+        FROM generate_subscripts(pageArray, 1) AS page(page_position)
+        INNER JOIN job j
+            ON j.partition_id = in_partition_id
+            AND j.job_id = pageArray[page.page_position][1]
+        CROSS JOIN LATERAL (
+            SELECT array_agg(l.label ORDER BY l.label) AS labels,
+                   array_agg(l.value ORDER BY l.label) AS label_values
+            FROM public.label l
+            WHERE l.partition_id = j.partition_id
+                AND l.job_id = j.job_id
+        ) lbl
+        ORDER BY page.page_position;
 END
 $$;
@@ -19,6 +19,9 @@
  *
  *  Description:
  *  Returns the number of job definitions in the system matching whatever criteria is specified.
+ *
+ *  Unless a job id prefix or a filter is specified, the count is read from the job_status_counts table, together with the
+ *  changes in the job_status_count_deltas table which have not yet been folded into it, rather than by scanning the jobs.
  */
 CREATE OR REPLACE FUNCTION get_jobs_count(
     in_partition_id VARCHAR(40),
@@ -46,6 +49,25 @@ BEGIN
     --      Inactive - only those results with inactive statuses (i.e. Completed, Failed, Cancelled) will be returned;
     --      NotFinished - only those results with unfinished statuses (ie. Active, Paused, Waiting) will be returned;
     --      Anything else returns all statuses.
+    IF (in_job_id_starts_with IS NULL OR in_job_id_starts_with = '') AND in_filter IS NULL THEN
+        RETURN QUERY
+        SELECT COALESCE(SUM(c.count), 0)::BIGINT
+        FROM (
+            SELECT partition_id, status, count FROM job_status_counts
+            UNION ALL
+            SELECT partition_id, status, count FROM job_status_count_deltas
+        ) c
+        WHERE c.partition_id = in_partition_id
+          AND CASE in_status_type
+                  WHEN 'NotCompleted' THEN c.status IN ('Active', 'Paused', 'Waiting', 'Cancelled', 'Failed')
+                  WHEN 'Completed' THEN c.status IN ('Completed')
+                  WHEN 'Inactive' THEN c.status IN ('Completed', 'Cancelled', 'Failed')
+                  WHEN 'NotFinished' THEN c.status IN ('Active', 'Paused', 'Waiting')
+                  ELSE TRUE
+              END;
+        RETURN;
+    END IF;
+
     sql := $q$SELECT COUNT(job.job_id) FROM job$q$;
 
     sql := sql || whereOrAnd || ' partition_id = ' || quote_literal(in_partition_id);
@@ -0,0 +1,87 @@
+--
+-- Copyright 2016-2022 Micro Focus or one of its affiliates.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--      http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+/*
+ *  Name: get_jobs_cursor
+ *
+ *  Description:
+ *  Opens a cursor over the page of jobs which get_jobs() would return for the same arguments, and returns its name.
+ *  The cursor has the same columns as get_jobs(), and its rows are produced as they are fetched rather than all at once.
+ *
+ *  No locks are taken on the job rows and no outstanding progress is applied to them; update_jobs_progress() should be called
+ *  first, in a transaction of its own, if the jobs are to be up to date.
+ */
+CREATE OR REPLACE FUNCTION get_jobs_cursor(
+    in_partition_id VARCHAR(40),
+    in_job_id_starts_with VARCHAR(48),
+    in_status_type VARCHAR(20),
+    in_limit INT,
+    in_offset INT,
+    in_sort_field VARCHAR(20),
+    in_sort_label VARCHAR(255),
+    in_sort_ascending BOOLEAN,
+    in_labels VARCHAR(255)[],
+    in_filter VARCHAR(255),
+    in_after_job_id VARCHAR(48) DEFAULT NULL,
+    in_after_sort_key TEXT DEFAULT NULL
+)
+RETURNS REFCURSOR
+LANGUAGE plpgsql VOLATILE
+AS $$
+DECLARE
+    sortDirection VARCHAR(4);
+    jobsCursor REFCURSOR;
+
+BEGIN
+    sortDirection := CASE WHEN in_sort_ascending THEN 'ASC' ELSE 'DESC' END;
+
+    -- The labels of each job are collected into a pair of arrays after paging, and ordering by the page columns lets the rows
+    -- follow the page without being sorted again
+    OPEN jobsCursor NO SCROLL FOR EXECUTE
+        'SELECT j.job_id,'
+        || ' j.name,'
+        || ' j.description,'
+        || ' j.data,'
+        || ' FLOOR(EXTRACT(EPOCH FROM j.create_date) * 1000)::BIGINT AS create_date,'
+        || ' FLOOR(EXTRACT(EPOCH FROM j.last_update_date) * 1000)::BIGINT AS last_update_date,'
+        || ' j.status,'
+        || ' j.percentage_complete,'
+        || ' j.failure_details,'
+        || ' CAST(''WORKER'' AS CHAR(6)) AS actionType,'
+        || ' lbl.labels,'
+        || ' lbl.label_values,'
+        || ' page.sort_value::TEXT AS sort_key'
+        || ' FROM ('
+        || internal_get_jobs_page_query(in_partition_id, in_job_id_starts_with, in_status_type, in_limit, in_offset,
+                                        in_sort_field, in_sort_label, in_sort_ascending, in_labels, in_filter,
+                                        in_after_job_id, in_after_sort_key)
+        || ') page'
+        || ' INNER JOIN job j'
+        || '     ON j.partition_id = $1'
+        || '     AND j.job_id = page.job_id'
+        || ' CROSS JOIN LATERAL ('
+        || '     SELECT array_agg(l.label ORDER BY l.label) AS labels,'
+        || '            array_agg(l.value ORDER BY l.label) AS label_values'
+        || '     FROM public.label l'
+        || '     WHERE l.partition_id = j.partition_id'
+        || '         AND l.job_id = j.job_id'
+        || ' ) lbl'
+        || ' ORDER BY page.sort_value ' || sortDirection || ', page.job_id ' || sortDirection
+        USING in_partition_id;
+
+    RETURN jobsCursor;
+END
+$$;
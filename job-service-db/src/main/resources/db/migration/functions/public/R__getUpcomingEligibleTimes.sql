@@ -0,0 +1,50 @@
+--
+-- Copyright 2016-2022 Micro Focus or one of its affiliates.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--      http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+/*
+ *  Name: get_upcoming_eligible_times
+ *
+ *  Description:
+ *  Returns the distinct times, as whole milliseconds since the epoch rounded up, at which dependent jobs that are not yet eligible
+ *  to run will become eligible within the specified number of seconds.  Jobs which are still waiting on other jobs are not
+ *  included, as they do not yet have an eligible time.
+ */
+CREATE OR REPLACE FUNCTION get_upcoming_eligible_times(
+    in_horizon_seconds INT,
+    in_limit INT
+)
+RETURNS TABLE(
+    eligible_time BIGINT
+)
+LANGUAGE plpgsql STABLE
+AS $$
+BEGIN
+    RETURN QUERY
+        SELECT DISTINCT CEIL(EXTRACT(EPOCH FROM jtd.eligible_to_run_date) * 1000)::BIGINT AS upcoming_time
+        FROM job_task_data jtd
+        WHERE NOT jtd.suspended
+            AND jtd.eligible_to_run_date > now() AT TIME ZONE 'UTC'
+            AND jtd.eligible_to_run_date <= now() AT TIME ZONE 'UTC' + (in_horizon_seconds * interval '1 second')
+            AND NOT EXISTS (
+                SELECT 1
+                FROM job_dependency jd
+                WHERE jd.partition_id = jtd.partition_id
+                    AND jd.job_id = jtd.job_id
+            )
+        ORDER BY upcoming_time
+        LIMIT in_limit;
+END
+$$;
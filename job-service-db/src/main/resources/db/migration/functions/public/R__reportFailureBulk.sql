@@ -0,0 +1,83 @@
+--
+-- Copyright 2016-2022 Micro Focus or one of its affiliates.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--      http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+/*
+ *  Name: report_failure_bulk
+ *
+ *  Description:
+ *  Update the specified tasks of a job and subsequent parent tasks/job with the failure details.
+ *  Takes in an array of tasks and a matching array of their failure details
+ */
+CREATE OR REPLACE FUNCTION report_failure_bulk(
+    in_partition_id VARCHAR(40),
+    in_job_id VARCHAR(48),
+    in_task_ids VARCHAR(70)[],
+    in_failure_details TEXT[]
+)
+RETURNS VOID
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    v_job_status job_status;
+    v_index INT;
+
+BEGIN
+    -- Raise exception if task identifier has not been specified
+    IF COALESCE(array_length(in_task_ids, 1), 0) = 0 THEN
+        RAISE EXCEPTION 'Task identifier has not been specified';
+    END IF;
+
+    -- Raise exception if a task does not have matching failure details
+    IF array_length(in_task_ids, 1) <> COALESCE(array_length(in_failure_details, 1), 0) THEN
+        RAISE EXCEPTION 'Mismatched task identifier and failure details arrays' USING ERRCODE = '22023'; -- invalid_parameter_value
+    END IF;
+
+    -- Raise exception if failure details have not been specified, or any task does not belong to the job
+    FOR v_index IN 1 .. array_length(in_task_ids, 1)
+    LOOP
+        IF in_failure_details[v_index] IS NULL OR in_failure_details[v_index] = '' THEN
+            RAISE EXCEPTION 'Failure details have not been specified';
+        END IF;
+
+        IF internal_get_job_id(in_task_ids[v_index]) <> in_job_id THEN
+            RAISE EXCEPTION 'Task {%} does not belong to job_id {%}', in_task_ids[v_index], in_job_id USING ERRCODE = '22023'; -- invalid_parameter_value
+        END IF;
+    END LOOP;
+
+    -- Get the job status
+    -- And take out an exclusive update lock on the job row
+    SELECT status INTO v_job_status
+    FROM job AS j
+    WHERE j.partition_id = in_partition_id
+        AND j.job_id = in_job_id
+    FOR UPDATE;
+
+    -- Check that the job hasn't been deleted, cancelled or completed
+    IF NOT FOUND OR v_job_status IN ('Cancelled', 'Completed') THEN
+        RETURN;
+    END IF;
+
+    -- Update the task statuses in the tables
+    FOR v_index IN 1 .. array_length(in_task_ids, 1)
+    LOOP
+        PERFORM internal_report_task_status(in_partition_id, in_task_ids[v_index], 'Failed', 0.00, in_failure_details[v_index]);
+    END LOOP;
+
+    -- Fail the dependent jobs once, giving the first failure as the reason
+    -- (this also removes their dependencies, so the later failures would not change them)
+    PERFORM internal_process_failed_dependent_jobs(in_partition_id, in_job_id, in_failure_details[1]);
+END
+$$;
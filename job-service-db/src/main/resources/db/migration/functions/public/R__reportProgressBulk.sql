@@ -0,0 +1,80 @@
+--
+-- Copyright 2016-2022 Micro Focus or one of its affiliates.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--      http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+/*
+ *  Name: report_progress_bulk
+ *
+ *  Description:
+ *  Reports the progress of the specified tasks of a job to the database.
+ *  Takes in an array of tasks and a matching array of their percentages complete
+ */
+CREATE OR REPLACE FUNCTION report_progress_bulk(
+    in_partition_id VARCHAR(40),
+    in_job_id VARCHAR(48),
+    in_task_ids VARCHAR(70)[],
+    in_percentage_completes DOUBLE PRECISION[]
+)
+RETURNS VOID
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    v_job_status job_status;
+    v_index INT;
+
+BEGIN
+    -- Raise exception if task identifier has not been specified
+    IF COALESCE(array_length(in_task_ids, 1), 0) = 0 THEN
+        RAISE EXCEPTION 'Task identifier has not been specified';
+    END IF;
+
+    -- Raise exception if a task does not have a matching progress
+    IF array_length(in_task_ids, 1) <> COALESCE(array_length(in_percentage_completes, 1), 0) THEN
+        RAISE EXCEPTION 'Mismatched task identifier and percentage complete arrays' USING ERRCODE = '22023'; -- invalid_parameter_value
+    END IF;
+
+    -- Raise exception if any task progress is < 0 or > 100, or any task does not belong to the job
+    FOR v_index IN 1 .. array_length(in_task_ids, 1)
+    LOOP
+        IF in_percentage_completes[v_index] < 0 OR in_percentage_completes[v_index] > 100 THEN
+            RAISE EXCEPTION 'Invalid in_percentage_complete %', in_percentage_completes[v_index] USING ERRCODE = '22023'; -- invalid_parameter_value
+        END IF;
+
+        IF internal_get_job_id(in_task_ids[v_index]) <> in_job_id THEN
+            RAISE EXCEPTION 'Task {%} does not belong to job_id {%}', in_task_ids[v_index], in_job_id USING ERRCODE = '22023'; -- invalid_parameter_value
+        END IF;
+    END LOOP;
+
+    -- Get the job status
+    -- And take out an exclusive update lock on the job row
+    SELECT status INTO v_job_status
+    FROM job j
+    WHERE j.partition_id = in_partition_id
+        AND j.job_id = in_job_id
+    FOR UPDATE;
+
+    -- Check that the job hasn't been deleted, cancelled or completed
+    IF NOT FOUND OR v_job_status IN ('Cancelled', 'Completed') THEN
+        RETURN;
+    END IF;
+
+    -- Update the task statuses in the tables
+    FOR v_index IN 1 .. array_length(in_task_ids, 1)
+    LOOP
+        PERFORM internal_report_task_status(
+            in_partition_id, in_task_ids[v_index], 'Active', LEAST(in_percentage_completes[v_index], 99.9), NULL);
+    END LOOP;
+END
+$$;
@@ -0,0 +1,55 @@
+--
+-- Copyright 2016-2022 Micro Focus or one of its affiliates.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--      http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+/*
+ *  Name: update_jobs_progress
+ *
+ *  Description:
+ *  Applies any outstanding progress to the page of jobs which get_jobs() would return for the same arguments.
+ *  It is called in a transaction of its own before the page is read with get_jobs_cursor(), so that the job rows are only locked
+ *  for as long as it takes to update them.
+ */
+CREATE OR REPLACE FUNCTION update_jobs_progress(
+    in_partition_id VARCHAR(40),
+    in_job_id_starts_with VARCHAR(48),
+    in_status_type VARCHAR(20),
+    in_limit INT,
+    in_offset INT,
+    in_sort_field VARCHAR(20),
+    in_sort_label VARCHAR(255),
+    in_sort_ascending BOOLEAN,
+    in_labels VARCHAR(255)[],
+    in_filter VARCHAR(255),
+    in_after_job_id VARCHAR(48) DEFAULT NULL,
+    in_after_sort_key TEXT DEFAULT NULL
+)
+RETURNS VOID
+LANGUAGE plpgsql VOLATILE
+AS $$
+DECLARE
+    jobIdArray VARCHAR(48)[];
+
+BEGIN
+    EXECUTE 'SELECT ARRAY(SELECT page.job_id FROM ('
+        || internal_get_jobs_page_query(in_partition_id, in_job_id_starts_with, in_status_type, in_limit, in_offset,
+                                        in_sort_field, in_sort_label, in_sort_ascending, in_labels, in_filter,
+                                        in_after_job_id, in_after_sort_key)
+        || ') page)'
+    INTO jobIdArray;
+
+    PERFORM internal_update_jobs_page_progress(in_partition_id, jobIdArray);
+END
+$$;
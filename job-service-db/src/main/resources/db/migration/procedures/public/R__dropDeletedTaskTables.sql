@@ -22,6 +22,7 @@
  *  parent as well as child task tables to be dropped. After populating the tables, it then reads the table names from delete_log table
  *  and drops them. 
  *  All the above is done through batch commits. The batch is defined by commit_limit variable. Default batch size being 10.
+ *  Subtasks are now stored in the subtask table, so this only drains the task tables left behind by earlier versions.
  */
 CREATE OR REPLACE PROCEDURE drop_deleted_task_tables()
 LANGUAGE plpgsql
@@ -0,0 +1,43 @@
+--
+-- Copyright 2016-2022 Micro Focus or one of its affiliates.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--      http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+/*
+ *  Name: fold_job_status_counts
+ *
+ *  Description:
+ *  Adds the changes recorded in the job_status_count_deltas table to the job_status_counts table and removes them, so that the
+ *  number of delta rows which get_jobs_count() has to add up stays small.
+ *
+ *  The delta rows are removed and their totals added in a single statement, so the counts are never missing or double counting a
+ *  change, and changes which are recorded while it runs are left for the next run. Only this procedure updates the
+ *  job_status_counts rows, so the row locks it takes are not contended by the transactions which change the jobs.
+ */
+CREATE OR REPLACE PROCEDURE fold_job_status_counts()
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    WITH folded AS (
+        DELETE FROM job_status_count_deltas
+        RETURNING partition_id, status, count
+    )
+    INSERT INTO job_status_counts AS c (partition_id, status, count)
+    SELECT partition_id, status, SUM(count)
+    FROM folded
+    GROUP BY partition_id, status
+    ORDER BY partition_id, status
+    ON CONFLICT (partition_id, status) DO UPDATE SET count = c.count + EXCLUDED.count;
+END
+$$;
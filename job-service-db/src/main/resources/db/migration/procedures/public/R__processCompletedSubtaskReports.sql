@@ -0,0 +1,87 @@
+--
+-- Copyright 2016-2022 Micro Focus or one of its affiliates.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--      http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+/*
+ *  Name: process_completed_subtask_reports
+ *
+ *  Description:
+ *  Applies the outstanding completion reports held in the completed_subtask_report table, so that the work is not left to the
+ *  next reader of the job.
+ *  The reports are processed job by job, in batches of up to in_batch_size reports, with a commit after each batch. Jobs whose
+ *  rows are currently locked, for example because they are being read or reported on, are skipped and left for a later run.
+ *  Processing stops once in_time_budget_ms milliseconds have elapsed.
+ */
+CREATE OR REPLACE PROCEDURE process_completed_subtask_reports(
+    in_batch_size INTEGER,
+    in_time_budget_ms INTEGER
+)
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    v_deadline TIMESTAMP WITH TIME ZONE := clock_timestamp() + in_time_budget_ms * interval '1 millisecond';
+    v_job RECORD;
+    v_task_ids VARCHAR(70)[];
+    v_task_id VARCHAR(70);
+    v_report_count INTEGER;
+
+BEGIN
+    FOR v_job IN
+        SELECT DISTINCT csr.partition_id, csr.job_id
+        FROM completed_subtask_report csr
+    LOOP
+        EXIT WHEN clock_timestamp() >= v_deadline;
+
+        LOOP
+            -- Take out an exclusive update lock on the job row, skipping the job if it is already locked
+            PERFORM NULL
+            FROM job j
+            WHERE j.partition_id = v_job.partition_id
+                AND j.job_id = v_job.job_id
+            FOR UPDATE SKIP LOCKED;
+
+            EXIT WHEN NOT FOUND;
+
+            -- Remove a batch of the completed subtask reports for the job
+            WITH completed_subtask AS (
+                DELETE FROM completed_subtask_report csr
+                WHERE csr.ctid = ANY(ARRAY(
+                    SELECT c.ctid
+                    FROM completed_subtask_report c
+                    WHERE c.partition_id = v_job.partition_id
+                        AND c.job_id = v_job.job_id
+                    LIMIT in_batch_size
+                    FOR UPDATE SKIP LOCKED
+                ))
+                RETURNING csr.task_id
+            )
+            SELECT array_agg(DISTINCT cs.task_id ORDER BY cs.task_id), COUNT(*)
+            INTO v_task_ids, v_report_count
+            FROM completed_subtask cs;
+
+            IF v_task_ids IS NOT NULL THEN
+                FOREACH v_task_id IN ARRAY v_task_ids
+                LOOP
+                    PERFORM internal_report_task_status(v_job.partition_id, v_task_id, 'Completed', 100.00, NULL);
+                END LOOP;
+            END IF;
+
+            COMMIT;
+
+            EXIT WHEN v_report_count < in_batch_size OR clock_timestamp() >= v_deadline;
+        END LOOP;
+    END LOOP;
+END
+$$;
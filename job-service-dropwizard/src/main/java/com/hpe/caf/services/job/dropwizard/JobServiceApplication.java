@@ -18,7 +18,9 @@ package com.hpe.caf.services.job.dropwizard;
 import com.codahale.metrics.health.HealthCheckRegistry;
 import com.github.cafapi.correlation.dropwizard.CorrelationIdBundle;
 import com.github.cafapi.ssl.dropwizard.DropWizardSslBundleProvider;
+import com.hpe.caf.services.db.client.DatabaseConnectionProvider;
 import com.hpe.caf.services.job.api.JobServiceModule;
+import com.hpe.caf.services.job.queue.QueueConnectionProvider;
 import com.hpe.caf.services.job.dropwizard.health.DatabaseHealthCheck;
 import com.hpe.caf.services.job.dropwizard.health.PingHealthCheck;
 import com.hpe.caf.services.job.dropwizard.health.PortsHealthCheck;
@@ -29,6 +31,7 @@ import io.dropwizard.configuration.SubstitutingSourceProvider;
 import io.dropwizard.core.Application;
 import io.dropwizard.core.setup.Bootstrap;
 import io.dropwizard.core.setup.Environment;
+import io.dropwizard.lifecycle.Managed;
 import io.dropwizard.logging.common.LoggingUtil;
 
 public final class JobServiceApplication extends Application<JobServiceConfiguration>
@@ -77,6 +80,18 @@ public final class JobServiceApplication extends Application<JobServiceConfigura
         final Environment environment
     ) throws Exception
     {
+        // Publish the database connection pool metrics on the admin port
+        DatabaseConnectionProvider.setMetricRegistry(environment.metrics());
+        environment.lifecycle().manage(new Managed()
+        {
+            @Override
+            public void stop()
+            {
+                DatabaseConnectionProvider.close();
+                QueueConnectionProvider.close();
+            }
+        });
+
         final HealthCheckRegistry healthChecks = environment.healthChecks();
         healthChecks.register("database", new DatabaseHealthCheck());
         healthChecks.register("ping", new PingHealthCheck());
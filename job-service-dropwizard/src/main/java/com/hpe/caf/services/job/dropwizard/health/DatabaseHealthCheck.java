@@ -32,10 +32,10 @@ public final class DatabaseHealthCheck extends HealthCheck
     {
         LOGGER.debug("Database Health Check: Starting...");
         try (final Connection conn = DatabaseConnectionProvider.getConnection(
-                AppConfigProvider.getAppConfigProperties())) {
+                AppConfigProvider.getAppConfig());
+             final Statement stmt = conn.createStatement()) {
 
             LOGGER.debug("Database Health Check: Attempting to Contact Database");
-            final Statement stmt = conn.createStatement();
             stmt.execute("SELECT 1");
 
             LOGGER.debug("Database Health Check: Healthy");
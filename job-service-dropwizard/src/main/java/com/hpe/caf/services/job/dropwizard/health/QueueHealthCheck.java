@@ -16,14 +16,8 @@
 package com.hpe.caf.services.job.dropwizard.health;
 
 import com.codahale.metrics.health.HealthCheck;
-import com.hpe.caf.util.rabbitmq.RabbitUtil;
-import com.rabbitmq.client.Channel;
-import com.rabbitmq.client.Connection;
-import java.io.IOException;
-import java.net.URISyntaxException;
-import java.security.KeyManagementException;
-import java.security.NoSuchAlgorithmException;
-import java.util.concurrent.TimeoutException;
+import com.hpe.caf.services.configuration.AppConfigProvider;
+import com.hpe.caf.services.job.queue.QueueConnectionProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,58 +30,19 @@ public final class QueueHealthCheck extends HealthCheck
     {
         LOGGER.debug("RabbitMQ Health Check: Starting...");
 
-        final Connection conn;
-        final Channel channel;
-
-        // Attempt to create a connection and channel to RabbitMQ. If an error occurs update the statueResponseMap and
-        // return.
+        // Check that the shared connection to RabbitMQ is open, reconnecting if it has been lost. A channel is not borrowed from the
+        // pool, so that the check is not held up when every channel is in use. If an error occurs return unhealthy.
         try {
-            conn = createConnection();
-            channel = conn.createChannel();
-        } catch (final IOException | TimeoutException e) {
-            LOGGER.error("RabbitMQ Health Check: Unhealthy", e);
-            return Result.unhealthy(e);
-        }
-
-        // Attempt to create a open a connection and channel to RabbitMQ. If an error occurs update the
-        // statueResponseMap and return.
-        try {
-            if (!conn.isOpen()) {
+            if (!QueueConnectionProvider.isConnectionOpen(AppConfigProvider.getAppConfig())) {
                 LOGGER.error("RabbitMQ Health Check: Unhealthy, unable to open connection");
                 return Result.unhealthy("Attempt to open connection to RabbitMQ failed");
-            } else if (!channel.isOpen()) {
-                LOGGER.error("RabbitMQ Health Check: Unhealthy, unable to open channel");
-                return Result.unhealthy("Attempt to open channel to RabbitMQ failed");
             }
         } catch (final Exception e) {
             LOGGER.error("RabbitMQ Health Check: Unhealthy", e);
             return Result.unhealthy(e);
-        } finally {
-            conn.close();
         }
 
-        // There where no issues in attempting to create and open a connection and channel to RabbitMQ.
+        // There where no issues in attempting to open a connection to RabbitMQ.
         return Result.healthy();
     }
-
-    private static Connection createConnection()
-            throws IOException, TimeoutException, URISyntaxException, NoSuchAlgorithmException, KeyManagementException
-    {
-        return RabbitUtil.createRabbitConnection(
-                getRabbitProtocol(),
-                System.getenv("CAF_RABBITMQ_HOST"),
-                Integer.parseInt(System.getenv("CAF_RABBITMQ_PORT")),
-                System.getenv("CAF_RABBITMQ_USERNAME"),
-                System.getenv("CAF_RABBITMQ_PASSWORD"));
-    }
-
-    private static String getRabbitProtocol()
-    {
-        // Default to 'amqp' if CAF_RABBITMQ_PROTOCOL is not specified
-        final String rabbitProtocol = System.getenv("CAF_RABBITMQ_PROTOCOL");
-        if (null == rabbitProtocol || rabbitProtocol.isEmpty()) {
-            return "amqp";
-        }
-        return rabbitProtocol;
-    }
 }
@@ -24,11 +24,19 @@ import org.slf4j.LoggerFactory;
 import java.nio.charset.StandardCharsets;
 import java.sql.CallableStatement;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.text.MessageFormat;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * This class is used to poll the Job Service database for jobs that can now run.
@@ -37,33 +45,37 @@ public class DatabasePoller
 {
     private static final Logger LOG = LoggerFactory.getLogger(DatabasePoller.class);
 
+    /**
+     * Identifies this process as the owner of the jobs that it claims, so that other scheduled executors sharing the database skip
+     * them.
+     */
+    private static final String LEASE_OWNER = UUID.randomUUID().toString();
+
     public static void pollDatabaseForJobsToRun() {
         try {
-            //  Poll database for prerequisite jobs that are now available to be run.
-            LOG.debug("Polling Job Service database for jobs to run ...");
-            final List<JobTaskData> jobsToRun = getDependentJobsToRun();
-
-            //  Determine if there are any jobs to run.
-            if (jobsToRun.size() > 0) {
-                //  Load serialization class.
-                LOG.debug("Loading serialization class ...");
-                final Codec codec = ModuleLoader.getService(Codec.class);
-
-                //  For each job to run, submit message to the rabbitMQ queue for further processing.
-                for (final JobTaskData jtd : jobsToRun) {
-                    LOG.info(MessageFormat.format("Processing job id {0} ...", jtd.getJobId()));
+            final int batchSize = ScheduledExecutorConfig.getDispatchBatchSize();
+            Codec codec = null;
+            int jobsClaimed;
+            int jobsDispatched;
+            do {
+                //  Poll database for prerequisite jobs that are now available to be run.
+                LOG.debug("Polling Job Service database for jobs to run ...");
+                jobsClaimed = claimDependentJobsToRun(batchSize);
+                jobsDispatched = 0;
 
-                    final WorkerAction workerAction = new WorkerAction();
-                    workerAction.setTaskClassifier(jtd.getTaskClassifier());
-                    workerAction.setTaskApiVersion(jtd.getTaskApiVersion());
-                    if (jtd.getTaskData() != null) {
-                        workerAction.setTaskData(new String(jtd.getTaskData(), StandardCharsets.UTF_8));
+                //  Determine if there are any jobs to run.
+                if (jobsClaimed > 0) {
+                    //  Load serialization class.
+                    if (codec == null) {
+                        LOG.debug("Loading serialization class ...");
+                        codec = ModuleLoader.getService(Codec.class);
                     }
-                    workerAction.setTaskPipe(jtd.getTaskPipe());
-                    workerAction.setTargetPipe(jtd.getTargetPipe());
-                    sendMessageToQueueMessaging(codec, jtd, workerAction);
+
+                    jobsDispatched = dispatchClaimedJobs(codec);
                 }
-            }
+                //  Claim another batch if this one was full, unless none of it could be dispatched, in which case the failed
+                //  jobs would just be claimed again.
+            } while (jobsClaimed == batchSize && jobsDispatched > 0 && !Thread.currentThread().isInterrupted());
         } catch (final ScheduledExecutorException e) {
             LOG.error(MessageFormat.format("Exception caught polling the Job Service database for jobs to run. {0}", e.getMessage()));
         } catch (final ModuleLoaderException e) {
@@ -71,74 +83,262 @@ public class DatabasePoller
         }
     }
 
-    private static void sendMessageToQueueMessaging(final Codec codec, final JobTaskData jtd, final WorkerAction workerAction)
+    /**
+     * Streams the jobs claimed by this process from the database, submitting a message to the RabbitMQ queue for each one, and
+     * deleting each job once its own message has been confirmed.
+     * <p>
+     * The jobs are read through a server-side cursor a few at a time, and only a limited number of messages are left waiting to be
+     * confirmed before the oldest is waited for, so memory use does not depend on how many jobs are ready to run. Jobs whose
+     * messages have been confirmed are deleted together in batches.
+     *
+     * @return the number of jobs which were dispatched and deleted
+     */
+    private static int dispatchClaimedJobs(final Codec codec) throws ScheduledExecutorException
+    {
+        final int windowSize = ScheduledExecutorConfig.getDispatchWindowSize();
+        final int deleteBatchSize = ScheduledExecutorConfig.getDeleteBatchSize();
+        final Deque<PendingDispatch> pendingDispatches = new ArrayDeque<>(windowSize);
+        final List<JobTaskData> confirmedJobs = new ArrayList<>(deleteBatchSize);
+        int dispatched = 0;
+
+        /*
+        SCMOD-6525 - FALSE POSITIVE on FORTIFY SCAN for Unreleased Resource: Database.
+        */
+        try (
+                Connection connection = DBConnection.get();
+                Connection deleteConnection = DBConnection.get();
+                PreparedStatement stmt = connection.prepareStatement("SELECT * FROM get_claimed_dependent_jobs(?)")
+        ) {
+            //  The rows are only fetched in batches when they are read within a transaction.
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            stmt.setFetchSize(ScheduledExecutorConfig.getDispatchFetchSize());
+            stmt.setString(1, LEASE_OWNER);
+            LOG.debug("Calling get_claimed_dependent_jobs() database function ...");
+
+            try (final ResultSet rs = stmt.executeQuery()) {
+                while (rs.next() && !Thread.currentThread().isInterrupted()) {
+                    final JobTaskData jtd = readJobTaskData(rs);
+                    LOG.info(MessageFormat.format("Processing job id {0} ...", jtd.getJobId()));
+
+                    final WorkerAction workerAction = createWorkerAction(jtd);
+                    final CompletableFuture<Void> confirmation = sendMessageToQueueMessaging(codec, jtd, workerAction);
+                    if (confirmation != null) {
+                        pendingDispatches.add(new PendingDispatch(jtd, workerAction, confirmation));
+                    }
+
+                    //  Wait for the oldest message to be confirmed once the window of unconfirmed messages is full.
+                    if (pendingDispatches.size() >= windowSize) {
+                        awaitConfirmation(pendingDispatches.poll(), confirmedJobs);
+                        if (confirmedJobs.size() >= deleteBatchSize) {
+                            dispatched += deleteDependentJobs(deleteConnection, confirmedJobs);
+                        }
+                    }
+                }
+            }
+            connection.commit();
+
+            while (!pendingDispatches.isEmpty() && !Thread.currentThread().isInterrupted()) {
+                awaitConfirmation(pendingDispatches.poll(), confirmedJobs);
+                if (confirmedJobs.size() >= deleteBatchSize) {
+                    dispatched += deleteDependentJobs(deleteConnection, confirmedJobs);
+                }
+            }
+            dispatched += deleteDependentJobs(deleteConnection, confirmedJobs);
+            return dispatched;
+        } catch (final SQLException e) {
+            final String errorMessage = MessageFormat.format(
+                "Failed in call to get_claimed_dependent_jobs() database function.{0}", e.getMessage());
+            LOG.error(errorMessage);
+            throw new ScheduledExecutorException(errorMessage);
+        }
+    }
+
+    private static JobTaskData readJobTaskData(final ResultSet rs) throws SQLException
+    {
+        final JobTaskData dependency = new JobTaskData();
+        dependency.setPartitionId(rs.getString(1));
+        dependency.setJobId(rs.getString(2));
+        dependency.setTaskClassifier(rs.getString(3));
+        dependency.setTaskApiVersion(rs.getInt(4));
+        dependency.setTaskData(rs.getBytes(5));
+        dependency.setTaskPipe(rs.getString(6));
+        dependency.setTargetPipe(rs.getString(7));
+        return dependency;
+    }
+
+    private static WorkerAction createWorkerAction(final JobTaskData jtd)
+    {
+        final WorkerAction workerAction = new WorkerAction();
+        workerAction.setTaskClassifier(jtd.getTaskClassifier());
+        workerAction.setTaskApiVersion(jtd.getTaskApiVersion());
+        if (jtd.getTaskData() != null) {
+            workerAction.setTaskData(new String(jtd.getTaskData(), StandardCharsets.UTF_8));
+        }
+        workerAction.setTaskPipe(jtd.getTaskPipe());
+        workerAction.setTargetPipe(jtd.getTargetPipe());
+        return workerAction;
+    }
+
+    /**
+     * Publishes the message for a job, returning a future which is completed when the message is confirmed, or null if the message
+     * could not be published.
+     */
+    private static CompletableFuture<Void> sendMessageToQueueMessaging(
+        final Codec codec,
+        final JobTaskData jtd,
+        final WorkerAction workerAction
+    )
     {
         try (final QueueServices queueServices= QueueServicesFactory.create(jtd.getTaskPipe(), jtd.getPartitionId(), codec)){
-            queueServices.sendMessage(jtd.getPartitionId(), jtd.getJobId(), workerAction);
-            deleteDependentJob(jtd.getPartitionId(), jtd.getJobId());
+            return queueServices.sendMessage(jtd.getPartitionId(), jtd.getJobId(), workerAction);
         } catch(final Exception ex) {
+            logDispatchFailure(jtd, workerAction, ex);
+            return null;
+        }
+    }
+
+    /**
+     * Waits for the message for a job to be confirmed, and then adds the job to the list of jobs to be deleted. A job whose message
+     * is not confirmed in time is left to be sent again by a later poll.
+     */
+    private static void awaitConfirmation(final PendingDispatch pendingDispatch, final List<JobTaskData> confirmedJobs)
+    {
+        final JobTaskData jtd = pendingDispatch.jobTaskData;
+        try {
+            pendingDispatch.confirmation.get(Math.max(0, pendingDispatch.confirmDeadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            confirmedJobs.add(jtd);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
             LOG.warn(MessageFormat.format(
-                    "Exception thrown during processing of job with partition ID {0}, job ID {1} and task data {2}",
-                    jtd.getPartitionId(), jtd.getJobId(), workerAction), ex);
+                    "Interrupted while waiting for the message for job with partition ID {0} and job ID {1} to be confirmed",
+                    jtd.getPartitionId(), jtd.getJobId()), ex);
+        } catch (final ExecutionException ex) {
+            logDispatchFailure(jtd, pendingDispatch.workerAction, ex.getCause());
+        } catch (final TimeoutException ex) {
+            logDispatchFailure(jtd, pendingDispatch.workerAction, ex);
         }
     }
+
+    private static void logDispatchFailure(final JobTaskData jtd, final WorkerAction workerAction, final Throwable ex)
+    {
+        LOG.warn(MessageFormat.format(
+                "Exception thrown during processing of job with partition ID {0}, job ID {1} and task data {2}",
+                jtd.getPartitionId(), jtd.getJobId(), workerAction), ex);
+    }
     
     /**
-     * Deletes the supplied job from the job_task_data database table.
+     * Deletes the supplied jobs from the job_task_data database table, and clears the list.
+     * <p>
+     * If the jobs cannot be deleted then they are left to be sent again by a later poll.
+     *
+     * @return the number of jobs which were deleted
+     */
+    private static int deleteDependentJobs(final Connection connection, final List<JobTaskData> jobs)
+    {
+        if (jobs.isEmpty()) {
+            return 0;
+        }
+        final String[] partitionIds = new String[jobs.size()];
+        final String[] jobIds = new String[jobs.size()];
+        for (int i = 0; i < jobs.size(); i++) {
+            partitionIds[i] = jobs.get(i).getPartitionId();
+            jobIds[i] = jobs.get(i).getJobId();
+        }
+        jobs.clear();
+
+        try (CallableStatement stmt = connection.prepareCall("{call delete_dependent_jobs(?,?)}")) {
+            stmt.setArray(1, connection.createArrayOf("VARCHAR", partitionIds));
+            stmt.setArray(2, connection.createArrayOf("VARCHAR", jobIds));
+            LOG.info(MessageFormat.format("Calling delete_dependent_jobs() database function for {0} jobs ...", jobIds.length));
+            stmt.execute();
+            try (final ResultSet rs = stmt.getResultSet()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        } catch (final SQLException e) {
+            LOG.error(MessageFormat.format("Failed in call to delete_dependent_jobs() database function for {0} jobs.{1}",
+                                           jobIds.length, e.getMessage()));
+            return 0;
+        }
+    }
+
+    /**
+     * Returns the distinct times, in milliseconds since the epoch, at which dependent jobs will become eligible to run within the
+     * specified number of seconds, soonest first.
      */
-    private static void deleteDependentJob(final String partitionId, final String jobId) throws ScheduledExecutorException
+    public static List<Long> getUpcomingEligibleTimes(final int horizonSeconds, final int limit) throws ScheduledExecutorException
     {
         try (
                 Connection connection = DBConnection.get();
-                CallableStatement stmt = connection.prepareCall("{call delete_dependent_job(?,?)}")) {
-            stmt.setString(1, partitionId);
-            stmt.setString(2, jobId);
-            LOG.info(MessageFormat.format("Calling delete_dependent_job({0},{1}) database function ...", partitionId, jobId));
+                CallableStatement stmt = connection.prepareCall("{call get_upcoming_eligible_times(?,?)}")
+        ) {
+            stmt.setInt(1, horizonSeconds);
+            stmt.setInt(2, limit);
+            LOG.debug("Calling get_upcoming_eligible_times() database function ...");
             stmt.execute();
+
+            final List<Long> eligibleTimes = new ArrayList<>();
+            try (final ResultSet rs = stmt.getResultSet()) {
+                while (rs.next()) {
+                    eligibleTimes.add(rs.getLong(1));
+                }
+            }
+            return eligibleTimes;
         } catch (final SQLException e) {
-            final String errorMessage = MessageFormat.format("Failed in call to delete_dependent_job({0},{1}) database function.{3}",
-                    partitionId, jobId,e.getMessage());
+            final String errorMessage = MessageFormat.format(
+                "Failed in call to get_upcoming_eligible_times() database function.{0}", e.getMessage());
             LOG.error(errorMessage);
             throw new ScheduledExecutorException(errorMessage);
         }
     }
 
     /**
-     * Returns a list of dependent jobs that are now available to run.
+     * Claims a batch of dependent jobs that are now available to run, and returns the number of jobs claimed.
+     * <p>
+     * The jobs are leased to this process, so other scheduled executors sharing the database do not dispatch them too. The lease
+     * must outlast the time taken to publish the batch and wait for the messages to be confirmed.
      */
-    private static List<JobTaskData> getDependentJobsToRun() throws ScheduledExecutorException
+    private static int claimDependentJobsToRun(final int batchSize) throws ScheduledExecutorException
     {
         /*
         SCMOD-6525 - FALSE POSITIVE on FORTIFY SCAN for Unreleased Resource: Database.
         */
         try (
                 Connection connection = DBConnection.get();
-                CallableStatement stmt = connection.prepareCall("{call get_dependent_jobs()}")
+                CallableStatement stmt = connection.prepareCall("{call claim_dependent_jobs(?,?,?)}")
         ) {
-            LOG.debug("Calling get_dependent_jobs() database function ...");
+            stmt.setString(1, LEASE_OWNER);
+            stmt.setInt(2, batchSize);
+            stmt.setInt(3, ScheduledExecutorConfig.getDispatchLeaseSeconds());
+            LOG.debug("Calling claim_dependent_jobs() database function ...");
             stmt.execute();
 
-            final List<JobTaskData> jobTaskDataList = new ArrayList<>();
-            final ResultSet rs = stmt.getResultSet();
-            while (rs.next()) {
-                final JobTaskData dependency = new JobTaskData();
-                dependency.setPartitionId(stmt.getResultSet().getString(1));
-                dependency.setJobId(stmt.getResultSet().getString(2));
-                dependency.setTaskClassifier(stmt.getResultSet().getString(3));
-                dependency.setTaskApiVersion(stmt.getResultSet().getInt(4));
-                dependency.setTaskData(stmt.getResultSet().getBytes(5));
-                dependency.setTaskPipe(stmt.getResultSet().getString(6));
-                dependency.setTargetPipe(stmt.getResultSet().getString(7));
-
-                jobTaskDataList.add(dependency);
+            try (final ResultSet rs = stmt.getResultSet()) {
+                rs.next();
+                return rs.getInt(1);
             }
-
-            return jobTaskDataList;
         } catch (final SQLException e) {
-            final String errorMessage = MessageFormat.format("Failed in call to get_dependent_jobs() database function.{0}", e.getMessage());
+            final String errorMessage = MessageFormat.format("Failed in call to claim_dependent_jobs() database function.{0}", e.getMessage());
             LOG.error(errorMessage);
             throw new ScheduledExecutorException(errorMessage);
         }
     }
 
+    private static final class PendingDispatch
+    {
+        final JobTaskData jobTaskData;
+        final WorkerAction workerAction;
+        final CompletableFuture<Void> confirmation;
+        final long confirmDeadline;
+
+        PendingDispatch(final JobTaskData jobTaskData, final WorkerAction workerAction, final CompletableFuture<Void> confirmation)
+        {
+            this.jobTaskData = jobTaskData;
+            this.workerAction = workerAction;
+            this.confirmation = confirmation;
+            this.confirmDeadline = System.nanoTime()
+                + TimeUnit.MILLISECONDS.toNanos(ScheduledExecutorConfig.getRabbitMQConfirmTimeoutMs());
+        }
+    }
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2016-2024 Open Text.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hpe.caf.services.job.scheduled.executor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.LongConsumer;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Listens for the notifications which the database sends on the job_task_data_eligible channel when jobs become eligible to run,
+ * so that they can be dispatched without waiting for the next periodic poll.
+ * <p>
+ * The listener holds its own database connection. If the connection is lost then it is re-opened, and because notifications may
+ * have been missed in the meantime a poll is requested as soon as the listener is listening again.
+ */
+public final class EligibleJobListener implements Runnable
+{
+    private static final Logger LOG = LoggerFactory.getLogger(EligibleJobListener.class);
+
+    private static final String CHANNEL_NAME = "job_task_data_eligible";
+    private static final int NOTIFICATION_TIMEOUT_MS = 10000;
+    private static final long RECONNECT_DELAY_MS = 5000;
+
+    private final LongConsumer eligibleTimeHandler;
+    private final Runnable pollRequest;
+
+    /**
+     * @param eligibleTimeHandler called with the time, in milliseconds since the epoch, that jobs become eligible to run; this is 0
+     *                            if jobs are eligible to run now
+     * @param pollRequest requests a poll for jobs which are ready to run; called each time the listener starts listening, in case
+     *                    notifications were missed
+     */
+    public EligibleJobListener(final LongConsumer eligibleTimeHandler, final Runnable pollRequest)
+    {
+        this.eligibleTimeHandler = eligibleTimeHandler;
+        this.pollRequest = pollRequest;
+    }
+
+    @Override
+    public void run()
+    {
+        while (!Thread.currentThread().isInterrupted()) {
+            try (final Connection connection = DBConnection.get()) {
+                listen(connection);
+            } catch (final ScheduledExecutorException | SQLException e) {
+                LOG.warn("Lost the database connection used to listen for jobs becoming eligible to run.", e);
+            } catch (final RuntimeException e) {
+                LOG.error("Unexpected failure while listening for jobs becoming eligible to run.", e);
+            }
+            try {
+                Thread.sleep(RECONNECT_DELAY_MS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void listen(final Connection connection) throws SQLException
+    {
+        try (final Statement stmt = connection.createStatement()) {
+            stmt.execute("LISTEN " + CHANNEL_NAME);
+        }
+        LOG.debug("Listening for jobs becoming eligible to run ...");
+
+        // Any notifications sent before the LISTEN took effect have been missed
+        pollRequest.run();
+
+        final PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        while (!Thread.currentThread().isInterrupted()) {
+            final PGNotification[] notifications = pgConnection.getNotifications(NOTIFICATION_TIMEOUT_MS);
+            if (notifications != null) {
+                for (final PGNotification notification : notifications) {
+                    eligibleTimeHandler.accept(getEligibleTime(notification.getParameter()));
+                }
+            }
+        }
+    }
+
+    private static long getEligibleTime(final String payload)
+    {
+        if (payload == null || payload.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(payload);
+        } catch (final NumberFormatException e) {
+            LOG.warn("Unexpected payload on the {} channel: {}", CHANNEL_NAME, payload);
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2016-2024 Open Text.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hpe.caf.services.job.scheduled.executor;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the times at which dependent jobs are due to become eligible to run, and requests a poll at each of them, so that delayed
+ * jobs are dispatched when they are due rather than on the next periodic poll.
+ * <p>
+ * Only the times are held in memory; the jobs themselves are read from the database when the poll runs, so the database remains
+ * the source of truth and nothing is lost if the process is restarted. Jobs which are due at the same time share a single poll.
+ * <p>
+ * Only times within the look-ahead period are held, and no more than the look-ahead limit of them, so that the number of pending
+ * timers stays bounded however many notifications arrive. Times which are dropped are not lost: they are read again from the
+ * database by the look-ahead which follows each poll once they come within range.
+ */
+final class EligibleTimeScheduler
+{
+    private final ScheduledExecutorService scheduler;
+    private final Runnable pollRequest;
+    private final long lookaheadMillis;
+    private final int limit;
+    private final Set<Long> scheduledTimes;
+
+    /**
+     * @param scheduler the executor used to wait for the times to arrive
+     * @param pollRequest requests a poll for jobs which are ready to run
+     * @param lookaheadSeconds the number of seconds ahead for which times are held, or 0 to hold none
+     * @param limit the maximum number of times which are held at once
+     */
+    public EligibleTimeScheduler(
+        final ScheduledExecutorService scheduler,
+        final Runnable pollRequest,
+        final int lookaheadSeconds,
+        final int limit
+    )
+    {
+        this.scheduler = scheduler;
+        this.pollRequest = pollRequest;
+        this.lookaheadMillis = TimeUnit.SECONDS.toMillis(Math.max(lookaheadSeconds, 0));
+        this.limit = limit;
+        this.scheduledTimes = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Requests a poll at the specified time, or immediately if the time has already passed.
+     * <p>
+     * The time is ignored if it is beyond the look-ahead period or if the limit has been reached; it is picked up by a later
+     * look-ahead instead.
+     *
+     * @param eligibleTime the time, in milliseconds since the epoch, that jobs become eligible to run
+     */
+    public synchronized void schedule(final long eligibleTime)
+    {
+        final long delay = eligibleTime - System.currentTimeMillis();
+        if (delay <= 0) {
+            pollRequest.run();
+        } else if (delay <= lookaheadMillis && scheduledTimes.size() < limit && scheduledTimes.add(eligibleTime)) {
+            scheduler.schedule(() -> {
+                scheduledTimes.remove(eligibleTime);
+                pollRequest.run();
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * @return the number of times at which a poll is currently scheduled
+     */
+    public int getScheduledCount()
+    {
+        return scheduledTimes.size();
+    }
+}
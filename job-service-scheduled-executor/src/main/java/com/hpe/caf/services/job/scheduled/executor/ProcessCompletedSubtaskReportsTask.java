@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016-2024 Open Text.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hpe.caf.services.job.scheduled.executor;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Applies the completion reports which have been deferred to the completed_subtask_report table, so that the cost of rolling them
+ * up is not paid by the next reader of the job.
+ */
+public final class ProcessCompletedSubtaskReportsTask implements Runnable
+{
+    private static final Logger LOG = LoggerFactory.getLogger(ProcessCompletedSubtaskReportsTask.class);
+
+    private final ScheduledExecutorMetrics metrics;
+
+    public ProcessCompletedSubtaskReportsTask(final ScheduledExecutorMetrics metrics)
+    {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void run()
+    {
+        try (final Connection connection = DBConnection.get()) {
+            final Instant start = Instant.now();
+            try (final PreparedStatement stmt = connection.prepareStatement("CALL process_completed_subtask_reports(?, ?)")) {
+                stmt.setInt(1, ScheduledExecutorConfig.getProcessCompletedSubtasksBatchSize());
+                stmt.setInt(2, ScheduledExecutorConfig.getProcessCompletedSubtasksTimeBudgetMs());
+                LOG.debug("Calling process_completed_subtask_reports() database procedure ...");
+                stmt.execute();
+            }
+
+            final long backlog = getBacklog(connection);
+            metrics.setCompletedSubtaskReportBacklog(backlog);
+            LOG.debug("Total time taken to process completed subtask reports in ms {}. Reports outstanding: {}",
+                      Duration.between(start, Instant.now()).toMillis(), backlog);
+        } catch (final Throwable t) {   // Catch Exceptions and Errors to prevent scheduler stoppage.
+            LOG.error("Caught exception while processing completed subtask reports.", t);
+        }
+    }
+
+    /**
+     * Gets the statistics collector's estimate of the number of rows in the completed_subtask_report table.
+     * <p>
+     * The rows are not counted, as that would scan the whole table on every run, and would cost the most when the backlog is
+     * largest. The estimate may lag the table by the statistics reporting interval.
+     */
+    private static long getBacklog(final Connection connection) throws SQLException
+    {
+        try (final Statement stmt = connection.createStatement();
+             final ResultSet rs = stmt.executeQuery(
+                 "SELECT n_live_tup FROM pg_stat_user_tables"
+                 + " WHERE schemaname = 'public' AND relname = 'completed_subtask_report'")) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+}
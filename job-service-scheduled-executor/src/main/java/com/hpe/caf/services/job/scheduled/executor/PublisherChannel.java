@@ -0,0 +1,187 @@
+/*
+ * Copyright 2016-2024 Open Text.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hpe.caf.services.job.scheduled.executor;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.ConfirmListener;
+import com.rabbitmq.client.ReturnListener;
+import com.rabbitmq.client.ShutdownListener;
+import com.rabbitmq.client.ShutdownSignalException;
+
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+/**
+ * A channel in publisher confirm mode which tracks the messages published on it that the broker has not yet confirmed.
+ * <p>
+ * Each publish returns a future which is completed when the broker acknowledges the message, or is completed exceptionally if the
+ * broker rejects the message, returns it as unroutable, or the channel is closed first. This allows many messages to be published
+ * before waiting for any of them to be confirmed.
+ */
+public final class PublisherChannel implements ConfirmListener, ReturnListener, ShutdownListener
+{
+    private final Channel channel;
+    private final Consumer<String> unroutableQueueHandler;
+    private final ConcurrentNavigableMap<Long, PendingPublish> pendingPublishes;
+
+    /**
+     * @param channel a channel which has been put into publisher confirm mode
+     * @param unroutableQueueHandler called with the name of the queue when a message is returned because it could not be routed
+     */
+    public PublisherChannel(final Channel channel, final Consumer<String> unroutableQueueHandler)
+    {
+        this.channel = channel;
+        this.unroutableQueueHandler = unroutableQueueHandler;
+        this.pendingPublishes = new ConcurrentSkipListMap<>();
+        channel.addConfirmListener(this);
+        channel.addReturnListener(this);
+        channel.addShutdownListener(this);
+    }
+
+    public Channel getChannel()
+    {
+        return channel;
+    }
+
+    public boolean isOpen()
+    {
+        return channel.isOpen();
+    }
+
+    /**
+     * @return true if any of the messages published on the channel are still waiting to be confirmed
+     */
+    public boolean hasPendingPublishes()
+    {
+        return !pendingPublishes.isEmpty();
+    }
+
+    /**
+     * Publishes a message directly to the specified queue.
+     *
+     * @param queueName the queue to publish the message to
+     * @param properties the message properties
+     * @param body the message body
+     * @return a future which is completed when the broker confirms that it has accepted the message
+     * @throws IOException if the message cannot be published
+     */
+    public synchronized CompletableFuture<Void> publish(
+        final String queueName,
+        final AMQP.BasicProperties properties,
+        final byte[] body
+    ) throws IOException
+    {
+        final long sequenceNumber = channel.getNextPublishSeqNo();
+        final PendingPublish pendingPublish = new PendingPublish(queueName, body);
+        pendingPublishes.put(sequenceNumber, pendingPublish);
+        try {
+            channel.basicPublish("", queueName, true, properties, body);
+        } catch (final IOException | RuntimeException e) {
+            pendingPublishes.remove(sequenceNumber);
+            throw e;
+        }
+        return pendingPublish.future;
+    }
+
+    @Override
+    public void handleAck(final long deliveryTag, final boolean multiple)
+    {
+        forEachConfirmed(deliveryTag, multiple, pendingPublish -> {
+            if (pendingPublish.returned) {
+                pendingPublish.future.completeExceptionally(new IOException(MessageFormat.format(
+                    "The message could not be routed to the {0} queue", pendingPublish.queueName)));
+            } else {
+                pendingPublish.future.complete(null);
+            }
+        });
+    }
+
+    @Override
+    public void handleNack(final long deliveryTag, final boolean multiple)
+    {
+        forEachConfirmed(deliveryTag, multiple, pendingPublish -> pendingPublish.future.completeExceptionally(new IOException(
+            MessageFormat.format("The message to the {0} queue was rejected by the broker", pendingPublish.queueName))));
+    }
+
+    @Override
+    public void handleReturn(
+        final int replyCode,
+        final String replyText,
+        final String exchange,
+        final String routingKey,
+        final AMQP.BasicProperties properties,
+        final byte[] body
+    )
+    {
+        // The broker sends the return before the confirm, so the message is still pending
+        for (final PendingPublish pendingPublish : pendingPublishes.values()) {
+            if (!pendingPublish.returned && pendingPublish.queueName.equals(routingKey) && Arrays.equals(pendingPublish.body, body)) {
+                pendingPublish.returned = true;
+                break;
+            }
+        }
+        unroutableQueueHandler.accept(routingKey);
+    }
+
+    @Override
+    public void shutdownCompleted(final ShutdownSignalException cause)
+    {
+        final Iterator<PendingPublish> iterator = pendingPublishes.values().iterator();
+        while (iterator.hasNext()) {
+            iterator.next().future.completeExceptionally(new IOException("The channel was closed before the message was confirmed", cause));
+            iterator.remove();
+        }
+    }
+
+    private void forEachConfirmed(final long deliveryTag, final boolean multiple, final Consumer<PendingPublish> action)
+    {
+        if (multiple) {
+            final Iterator<Map.Entry<Long, PendingPublish>> iterator = pendingPublishes.headMap(deliveryTag, true).entrySet().iterator();
+            while (iterator.hasNext()) {
+                action.accept(iterator.next().getValue());
+                iterator.remove();
+            }
+        } else {
+            final PendingPublish pendingPublish = pendingPublishes.remove(deliveryTag);
+            if (pendingPublish != null) {
+                action.accept(pendingPublish);
+            }
+        }
+    }
+
+    private static final class PendingPublish
+    {
+        final String queueName;
+        final byte[] body;
+        final CompletableFuture<Void> future;
+        volatile boolean returned;
+
+        PendingPublish(final String queueName, final byte[] body)
+        {
+            this.queueName = queueName;
+            this.body = body;
+            this.future = new CompletableFuture<>();
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2016-2024 Open Text.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hpe.caf.services.job.scheduled.executor;
+
+import com.hpe.caf.util.rabbitmq.RabbitUtil;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.security.KeyManagementException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A long-lived connection to RabbitMQ with a pool of channels in publisher confirm mode.
+ * <p>
+ * A channel can be returned to the pool while messages published on it are still waiting to be confirmed, as the confirms are
+ * tracked by the {@link PublisherChannel} itself.
+ * <p>
+ * Channels are created on demand and are returned to the pool after use, so that a message can be published without first opening a
+ * connection and a channel. The queues which have been declared on the connection are remembered so that each queue is only declared
+ * the first time that it is published to. If the connection is lost then a new one is opened the next time that a channel is
+ * needed, and the queues are declared again.
+ * <p>
+ * Queues are declared on a channel of their own, which is never used to publish. The broker closes a channel when a declare fails,
+ * for example because the queue already exists with different arguments, and doing so on a publishing channel would fail the
+ * confirms of every message still waiting on it.
+ */
+public final class PublisherChannelPool implements AutoCloseable
+{
+    private static final Logger LOG = LoggerFactory.getLogger(PublisherChannelPool.class);
+
+    private final int maxIdleChannels;
+    private final ConnectionFactory connectionFactory;
+    private final BlockingDeque<PublisherChannel> idleChannels;
+    private final Set<String> declaredQueues;
+
+    private Connection connection;
+    private Channel declareChannel;
+
+    public PublisherChannelPool(final int maxIdleChannels)
+    {
+        this(maxIdleChannels, () -> RabbitUtil.createRabbitConnection(
+            ScheduledExecutorConfig.getRabbitMQProtocol(),
+            ScheduledExecutorConfig.getRabbitMQHost(),
+            ScheduledExecutorConfig.getRabbitMQPort(),
+            ScheduledExecutorConfig.getRabbitMQUsername(),
+            ScheduledExecutorConfig.getRabbitMQPassword()));
+    }
+
+    PublisherChannelPool(final int maxIdleChannels, final ConnectionFactory connectionFactory)
+    {
+        this.maxIdleChannels = maxIdleChannels;
+        this.connectionFactory = connectionFactory;
+        this.idleChannels = new LinkedBlockingDeque<>();
+        this.declaredQueues = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Takes a channel from the pool, creating a new one (and a new connection if necessary) if there are no idle channels.
+     * <p>
+     * The channel must be given back by calling either {@link #returnChannel} or {@link #discardChannel}.
+     */
+    public PublisherChannel borrowChannel()
+        throws IOException, TimeoutException, URISyntaxException, NoSuchAlgorithmException, KeyManagementException
+    {
+        for (;;) {
+            final PublisherChannel channel = idleChannels.pollFirst();
+            if (channel == null) {
+                return createChannel();
+            }
+            if (channel.isOpen()) {
+                return channel;
+            }
+        }
+    }
+
+    /**
+     * Gives a channel back to the pool so that it can be reused, or closes it if the pool already holds enough idle channels.
+     * <p>
+     * A channel with messages which are still waiting to be confirmed is never closed here, as that would fail the messages.
+     */
+    public void returnChannel(final PublisherChannel channel)
+    {
+        if (channel.isOpen() && (idleChannels.size() < maxIdleChannels || channel.hasPendingPublishes())) {
+            idleChannels.offerFirst(channel);
+        } else {
+            discardChannel(channel);
+        }
+    }
+
+    /**
+     * Closes a channel which should not be reused, for example because an operation on it has failed.
+     */
+    public void discardChannel(final PublisherChannel channel)
+    {
+        closeChannel(channel.getChannel());
+    }
+
+    private static void closeChannel(final Channel channel)
+    {
+        if (channel.isOpen()) {
+            try {
+                LOG.debug("Closing channel ...");
+                channel.close();
+            } catch (final IOException | TimeoutException | RuntimeException e) {
+                LOG.warn("Failed to close channel.", e);
+            }
+        }
+    }
+
+    /**
+     * Declares the specified durable queue, unless it has already been declared on the current connection.
+     * <p>
+     * The queue is declared on the pool's declaring channel rather than on a publishing channel, so a failure only closes the
+     * declaring channel, which is replaced the next time that a queue is declared.
+     *
+     * @param queueName the name of the queue
+     * @param arguments the arguments to declare the queue with
+     * @throws IOException if the queue cannot be declared
+     */
+    public void declareQueue(final String queueName, final Map<String, Object> arguments)
+        throws IOException, TimeoutException, URISyntaxException, NoSuchAlgorithmException, KeyManagementException
+    {
+        if (!declaredQueues.contains(queueName)) {
+            declareQueueOnDeclareChannel(queueName, arguments);
+        }
+    }
+
+    private synchronized void declareQueueOnDeclareChannel(final String queueName, final Map<String, Object> arguments)
+        throws IOException, TimeoutException, URISyntaxException, NoSuchAlgorithmException, KeyManagementException
+    {
+        if (declareChannel == null || !declareChannel.isOpen()) {
+            LOG.debug("Creating channel for declaring queues ...");
+            declareChannel = getConnection().createChannel();
+        }
+        LOG.debug("Declaring worker queue {}...", queueName);
+        //setting queue properties: durable - true, exclusive - false, autoDelete - false
+        declareChannel.queueDeclare(queueName, true, false, false, arguments);
+        declaredQueues.add(queueName);
+    }
+
+    /**
+     * Forgets that the specified queue has been declared, so that it is declared again the next time that it is published to.
+     */
+    public void forgetQueue(final String queueName)
+    {
+        declaredQueues.remove(queueName);
+    }
+
+    /**
+     * Closes the idle channels and the connection.
+     */
+    @Override
+    public synchronized void close()
+    {
+        discardIdleChannels();
+        if (declareChannel != null) {
+            closeChannel(declareChannel);
+            declareChannel = null;
+        }
+        if (connection != null) {
+            LOG.debug("Closing connection ...");
+            connection.abort();
+            connection = null;
+        }
+    }
+
+    private synchronized PublisherChannel createChannel()
+        throws IOException, TimeoutException, URISyntaxException, NoSuchAlgorithmException, KeyManagementException
+    {
+        LOG.debug("Creating channel ...");
+        final Channel channel = getConnection().createChannel();
+        try {
+            channel.confirmSelect();
+        } catch (final IOException | RuntimeException e) {
+            closeChannel(channel);
+            throw e;
+        }
+        return new PublisherChannel(channel, this::forgetQueue);
+    }
+
+    private synchronized Connection getConnection()
+        throws IOException, TimeoutException, URISyntaxException, NoSuchAlgorithmException, KeyManagementException
+    {
+        if (connection == null || !connection.isOpen()) {
+            if (connection != null) {
+                LOG.warn("RabbitMQ connection has been lost; creating a new connection ...");
+                // Stop any automatic recovery of the old connection, as it is being replaced
+                connection.abort();
+                discardIdleChannels();
+                declareChannel = null;
+                declaredQueues.clear();
+            }
+            LOG.debug("Creating connection ...");
+            connection = connectionFactory.newConnection();
+        }
+        return connection;
+    }
+
+    private void discardIdleChannels()
+    {
+        PublisherChannel channel;
+        while ((channel = idleChannels.pollFirst()) != null) {
+            discardChannel(channel);
+        }
+    }
+
+    @FunctionalInterface
+    interface ConnectionFactory
+    {
+        Connection newConnection()
+            throws IOException, TimeoutException, URISyntaxException, NoSuchAlgorithmException, KeyManagementException;
+    }
+}
@@ -21,8 +21,6 @@ import com.hpe.caf.api.worker.TaskMessage;
 import com.hpe.caf.api.worker.TaskStatus;
 import com.hpe.caf.api.worker.TrackingInfo;
 import com.hpe.caf.services.job.util.JobTaskId;
-import com.rabbitmq.client.Channel;
-import com.rabbitmq.client.Connection;
 import com.rabbitmq.client.MessageProperties;
 import org.apache.commons.codec.binary.Base64;
 import org.slf4j.Logger;
@@ -36,7 +34,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This class is responsible for sending task data to the target queue.
@@ -45,32 +43,37 @@ public final class QueueServices implements AutoCloseable
 {
     private static final Logger LOG = LoggerFactory.getLogger(QueueServices.class);
 
-    private final Connection connection;
-    private final Channel publisherChannel;
+    private final PublisherChannelPool channelPool;
+    private final PublisherChannel publisherChannel;
     private final String targetQueue;               // Queue that should be set in the 'to' field of the task message
 
     private final Codec codec;
 
+    private boolean channelReusable;
+
     public QueueServices(
-            final Connection connection,
-            final Channel publisherChannel,
+            final PublisherChannelPool channelPool,
+            final PublisherChannel publisherChannel,
             final String targetQueue,
             final Codec codec) {
 
-        this.connection = connection;
+        this.channelPool = channelPool;
         this.publisherChannel = publisherChannel;
         this.targetQueue = targetQueue;
         this.codec = codec;
+        this.channelReusable = true;
     }
 
     /**
-     * Send task data message to the target queue.
+     * Send task data message to the target queue, without waiting for the broker to confirm that it has been accepted.
      *
      * @param   jobId               the job identifier
      * @param   workerAction        the worker task details
+     * @return  a future which is completed when the broker confirms the message, or is completed exceptionally if the broker
+     *          rejects it or cannot route it to the target queue
      * @throws IOException          thrown if message cannot be sent
      */
-    public void sendMessage(
+    public CompletableFuture<Void> sendMessage(
         final String partitionId, final String jobId, final WorkerAction workerAction
     ) throws IOException, URISyntaxException {
         //  Generate a random task id.
@@ -109,7 +112,12 @@ public final class QueueServices implements AutoCloseable
                     targetQueue, new String(taskMessageBytes, StandardCharsets.UTF_8));
         }
 
-        publisherChannel.basicPublish("", targetQueue, true, MessageProperties.PERSISTENT_TEXT_PLAIN, taskMessageBytes);
+        try {
+            return publisherChannel.publish(targetQueue, MessageProperties.PERSISTENT_TEXT_PLAIN, taskMessageBytes);
+        } catch (final IOException | RuntimeException e) {
+            channelReusable = false;
+            throw e;
+        }
     }
 
     private TaskMessage getTaskMessage(
@@ -171,28 +179,14 @@ public final class QueueServices implements AutoCloseable
     }
 
     /**
-     * Closes the queue connection.
-     * @throws RuntimeException thrown if the queue connection cannot be closed.
+     * Returns the channel to the pool, or closes it if it may not be safe to reuse.
      */
     @Override
-    public void close() throws RuntimeException{
-        try {
-            //  Close channel.
-            if (publisherChannel != null) {
-                LOG.debug("Closing channel ...");
-                publisherChannel.close();
-            }
-
-            //  Close connection.
-            if (connection != null) {
-                LOG.debug("Closing connection ...");
-                connection.close();
-            }
-
-        } catch (IOException | TimeoutException e) {
-            final String errorMessage = "Failed to close the queuing connection.";
-            LOG.error(errorMessage);
-            throw new RuntimeException(errorMessage);
+    public void close() {
+        if (channelReusable) {
+            channelPool.returnChannel(publisherChannel);
+        } else {
+            channelPool.discardChannel(publisherChannel);
         }
     }
 
@@ -16,13 +16,6 @@
 package com.hpe.caf.services.job.scheduled.executor;
 
 import com.hpe.caf.api.Codec;
-import com.hpe.caf.util.rabbitmq.RabbitUtil;
-
-import com.rabbitmq.client.Channel;
-import com.rabbitmq.client.Connection;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
@@ -33,12 +26,10 @@ import java.util.Map;
 import java.util.concurrent.TimeoutException;
 
 /**
- * This class is responsible for creating the RabbitMQ connection and channel.
+ * This class is responsible for providing the RabbitMQ channels which are used to publish messages.
  */
 public final class QueueServicesFactory
 {
-    private static final Logger LOG = LoggerFactory.getLogger(QueueServicesFactory.class);
-
     private static final String RABBIT_PROP_KEY_MAX_PRIORITY = "x-max-priority";
 
     private static final String RABBIT_PROP_QUEUE_TYPE = "x-queue-type";
@@ -56,8 +47,16 @@ public final class QueueServicesFactory
         QUEUE_ARGUMENTS.put(RABBIT_PROP_QUEUE_TYPE, queueType);
     }
 
+    private static final PublisherChannelPool CHANNEL_POOL
+        = new PublisherChannelPool(ScheduledExecutorConfig.getRabbitMQChannelPoolSize());
+
     /**
      * Create a new QueueServices object.
+     * <p>
+     * The QueueServices object uses a channel from a pool which is shared by the whole process, and the channel is returned to the
+     * pool when the object is closed. The target queue is only declared the first time that it is used on the pooled connection, and
+     * it is declared on a separate channel, so that a failure to declare it cannot fail the messages waiting to be confirmed on the
+     * publishing channel.
      *
      * @param   targetQueue                     the target queue
      * @param   partitionId                     the partition ID
@@ -69,28 +68,12 @@ public final class QueueServicesFactory
     public static QueueServices create(final String targetQueue, final String partitionId, final Codec codec)
             throws IOException, TimeoutException, URISyntaxException, NoSuchAlgorithmException, KeyManagementException
     {
-        //  Create connection and channel for publishing messages.
-        LOG.debug("Creating connection ...");
-        final Connection connection = createConnection();
-
-        LOG.debug("Creating channel ...");
-        final Channel publishChannel = connection.createChannel();
-
         //  Declare worker queue.
-        LOG.debug("Declaring worker queue {}...", targetQueue);
+        CHANNEL_POOL.declareQueue(targetQueue, QUEUE_ARGUMENTS);
 
-        //setting queue properties: durable - true, exclusive - false, autoDelete - false
-        publishChannel.queueDeclare(targetQueue, true, false, false, QUEUE_ARGUMENTS);
+        //  Get a channel for publishing messages.
+        final PublisherChannel publishChannel = CHANNEL_POOL.borrowChannel();
 
-        return new QueueServices(connection, publishChannel, targetQueue, codec);
-    }
-
-    /**
-     * Creates a connection to rabbit messaging server.
-     */
-    private static Connection createConnection()
-            throws IOException, TimeoutException, URISyntaxException, NoSuchAlgorithmException, KeyManagementException
-    {
-        return RabbitUtil.createRabbitConnection(ScheduledExecutorConfig.getRabbitMQProtocol(), ScheduledExecutorConfig.getRabbitMQHost(), ScheduledExecutorConfig.getRabbitMQPort(), ScheduledExecutorConfig.getRabbitMQUsername(), ScheduledExecutorConfig.getRabbitMQPassword());
+        return new QueueServices(CHANNEL_POOL, publishChannel, targetQueue, codec);
     }
 }
@@ -24,16 +24,34 @@ import java.util.Arrays;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class ScheduledExecutor {
 
     private static final Logger LOG = LoggerFactory.getLogger(ScheduledExecutor.class);
 
     private final ScheduledExecutorService scheduler;
+    private final ScheduledExecutorService completedSubtaskReportScheduler;
+    private final ScheduledExecutorMetrics metrics;
+    private final AtomicBoolean manualPollPending;
+    private final AtomicBoolean pokePending;
+    private final EligibleTimeScheduler eligibleTimeScheduler;
 
     public ScheduledExecutor() {
         // Create a scheduler to process scheduled tasks.
         this.scheduler = Executors.newScheduledThreadPool(1);
+        // Completed subtask reports are processed on their own thread so that they do not hold up the dispatch of jobs.
+        this.completedSubtaskReportScheduler = Executors.newScheduledThreadPool(1);
+        this.metrics = new ScheduledExecutorMetrics();
+        metrics.register();
+        this.manualPollPending = new AtomicBoolean();
+        this.pokePending = new AtomicBoolean();
+        this.eligibleTimeScheduler = new EligibleTimeScheduler(
+            scheduler,
+            this::requestManualPoll,
+            ScheduledExecutorConfig.getLookaheadSeconds(),
+            ScheduledExecutorConfig.getLookaheadLimit());
+        metrics.setScheduledEligiblePollsSupplier(eligibleTimeScheduler::getScheduledCount);
 
         LOG.info("Starting Job Service Scheduled Executor service ...");
 
@@ -44,22 +62,73 @@ public class ScheduledExecutor {
         scheduler.scheduleWithFixedDelay(task, 20, ScheduledExecutorConfig.getScheduledExecutorPeriod(),
                 TimeUnit.SECONDS);
 
+        LOG.info("Starting listener for jobs becoming eligible to run ...");
+        //  The periodic poll above is kept as a safety net in case any notifications are missed.
+        final Thread listenerThread = new Thread(
+            new EligibleJobListener(this::onJobsEligible, this::requestManualPoll), "eligible-job-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+
         LOG.info("Starting task for dropping soft deleted tables ...");
         //  Execute the dropTablesTask periodically.
         scheduler.scheduleWithFixedDelay(new DropTablesTask(), 20, ScheduledExecutorConfig.getDropTablesSchedulerPeriod(),
                 TimeUnit.SECONDS);
+
+        LOG.info("Starting task for folding job status counts ...");
+        //  Execute the foldJobStatusCountsTask periodically.
+        scheduler.scheduleWithFixedDelay(new FoldJobStatusCountsTask(), 20,
+                ScheduledExecutorConfig.getFoldJobStatusCountsSchedulerPeriod(), TimeUnit.SECONDS);
+
+        LOG.info("Starting task for processing completed subtask reports ...");
+        //  Execute the processCompletedSubtaskReportsTask periodically.
+        completedSubtaskReportScheduler.scheduleWithFixedDelay(new ProcessCompletedSubtaskReportsTask(metrics), 20,
+                ScheduledExecutorConfig.getProcessCompletedSubtasksSchedulerPeriod(), TimeUnit.SECONDS);
     }
 
+    /**
+     * Requests a poll for jobs which are ready to run.
+     * <p>
+     * At most one manual poll is waiting to run at any time, so pokes which arrive before it starts are folded into it. Pokes which
+     * arrive while it is running cause a single follow-up poll.
+     */
     public void poke()
     {
-        scheduler.submit(() -> runAvailableJobs("Manual"));
+        metrics.incrementPokesReceived();
+        pokePending.set(true);
+        requestManualPoll();
+    }
+
+    /**
+     * Requests a poll when the database notifies that jobs are eligible to run, or schedules one for when they become eligible.
+     *
+     * @param eligibleTime the time, in milliseconds since the epoch, that the jobs become eligible to run
+     */
+    private void onJobsEligible(final long eligibleTime)
+    {
+        metrics.incrementNotificationsReceived();
+        eligibleTimeScheduler.schedule(eligibleTime);
+    }
+
+    private void requestManualPoll()
+    {
+        if (manualPollPending.compareAndSet(false, true)) {
+            scheduler.submit(() -> {
+                // Clear the flag first so that a poke which arrives during the poll causes another one
+                manualPollPending.set(false);
+                metrics.incrementManualPollsExecuted();
+                if (pokePending.getAndSet(false)) {
+                    metrics.incrementPokePollsExecuted();
+                }
+                runAvailableJobs("Manual");
+            });
+        }
     }
 
     /**
      *
      * @param origin the trigger's origin. It can be "Auto" or "Manual"
      */
-    private static void runAvailableJobs(final String origin)
+    private void runAvailableJobs(final String origin)
     {
         try {
             if (LOG.isDebugEnabled()) {
@@ -70,9 +139,26 @@ public class ScheduledExecutor {
             } else {
                 DatabasePoller.pollDatabaseForJobsToRun();
             }
+            scheduleUpcomingPolls();
         } catch (final Throwable t) {   // Catch Exceptions and Errors to prevent scheduler stoppage.
             LOG.error("Caught exception while polling the Job Service database. Message:\n{} StackTrace:\n{}",
                       t.getMessage(), Arrays.toString(t.getStackTrace()));
         }
     }
+
+    /**
+     * Schedules polls for the times at which delayed jobs become eligible to run within the look-ahead period, so that they are
+     * dispatched when they are due rather than on a later periodic poll.
+     */
+    private void scheduleUpcomingPolls() throws ScheduledExecutorException
+    {
+        final int lookaheadSeconds = ScheduledExecutorConfig.getLookaheadSeconds();
+        if (lookaheadSeconds <= 0) {
+            return;
+        }
+        for (final long eligibleTime
+                : DatabasePoller.getUpcomingEligibleTimes(lookaheadSeconds, ScheduledExecutorConfig.getLookaheadLimit())) {
+            eligibleTimeScheduler.schedule(eligibleTime);
+        }
+    }
 }
@@ -106,6 +106,38 @@ public class ScheduledExecutorConfig {
         return Integer.parseInt(period);
     }
 
+    public static int getFoldJobStatusCountsSchedulerPeriod() {
+        final String period = getPropertyOrEnvVar("CAF_FOLD_JOB_STATUS_COUNTS_SCHEDULER_PERIOD");
+        if (null == period || period.isEmpty()) {
+            return 10;
+        }
+        return Integer.parseInt(period);
+    }
+
+    public static int getProcessCompletedSubtasksSchedulerPeriod() {
+        final String period = getPropertyOrEnvVar("CAF_PROCESS_COMPLETED_SUBTASKS_SCHEDULER_PERIOD");
+        if (null == period || period.isEmpty()) {
+            return 10;
+        }
+        return Integer.parseInt(period);
+    }
+
+    public static int getProcessCompletedSubtasksBatchSize() {
+        final String batchSize = getPropertyOrEnvVar("CAF_PROCESS_COMPLETED_SUBTASKS_BATCH_SIZE");
+        if (null == batchSize || batchSize.isEmpty()) {
+            return 1000;
+        }
+        return Integer.parseInt(batchSize);
+    }
+
+    public static int getProcessCompletedSubtasksTimeBudgetMs() {
+        final String timeBudget = getPropertyOrEnvVar("CAF_PROCESS_COMPLETED_SUBTASKS_TIME_BUDGET_MS");
+        if (null == timeBudget || timeBudget.isEmpty()) {
+            return 5000;
+        }
+        return Integer.parseInt(timeBudget);
+    }
+
     public static String getQueueType() {
         final String queueType = getPropertyOrEnvVar("CAF_RABBITMQ_QUEUE_TYPE");
         if (null == queueType || queueType.isEmpty()) {
@@ -122,6 +154,78 @@ public class ScheduledExecutorConfig {
         return Integer.parseInt(queueMaxPriority);
     }
 
+    public static int getRabbitMQChannelPoolSize() {
+        final String poolSize = getPropertyOrEnvVar("CAF_RABBITMQ_CHANNEL_POOL_SIZE");
+        if (null == poolSize || poolSize.isEmpty()) {
+            return 4;
+        }
+        return Integer.parseInt(poolSize);
+    }
+
+    public static int getRabbitMQConfirmTimeoutMs() {
+        final String confirmTimeout = getPropertyOrEnvVar("CAF_RABBITMQ_CONFIRM_TIMEOUT_MS");
+        if (null == confirmTimeout || confirmTimeout.isEmpty()) {
+            return 30000;
+        }
+        return Integer.parseInt(confirmTimeout);
+    }
+
+    public static int getDispatchFetchSize() {
+        final String fetchSize = getPropertyOrEnvVar("CAF_SCHEDULED_EXECUTOR_DISPATCH_FETCH_SIZE");
+        if (null == fetchSize || fetchSize.isEmpty()) {
+            return 50;
+        }
+        return Integer.parseInt(fetchSize);
+    }
+
+    public static int getDispatchWindowSize() {
+        final String windowSize = getPropertyOrEnvVar("CAF_SCHEDULED_EXECUTOR_DISPATCH_WINDOW_SIZE");
+        if (null == windowSize || windowSize.isEmpty()) {
+            return 100;
+        }
+        return Integer.parseInt(windowSize);
+    }
+
+    public static int getDeleteBatchSize() {
+        final String batchSize = getPropertyOrEnvVar("CAF_SCHEDULED_EXECUTOR_DELETE_BATCH_SIZE");
+        if (null == batchSize || batchSize.isEmpty()) {
+            return 100;
+        }
+        return Integer.parseInt(batchSize);
+    }
+
+    public static int getLookaheadSeconds() {
+        final String lookahead = getPropertyOrEnvVar("CAF_SCHEDULED_EXECUTOR_LOOKAHEAD_SECONDS");
+        if (null == lookahead || lookahead.isEmpty()) {
+            return 60;
+        }
+        return Integer.parseInt(lookahead);
+    }
+
+    public static int getLookaheadLimit() {
+        final String limit = getPropertyOrEnvVar("CAF_SCHEDULED_EXECUTOR_LOOKAHEAD_LIMIT");
+        if (null == limit || limit.isEmpty()) {
+            return 1000;
+        }
+        return Integer.parseInt(limit);
+    }
+
+    public static int getDispatchBatchSize() {
+        final String batchSize = getPropertyOrEnvVar("CAF_SCHEDULED_EXECUTOR_DISPATCH_BATCH_SIZE");
+        if (null == batchSize || batchSize.isEmpty()) {
+            return 500;
+        }
+        return Integer.parseInt(batchSize);
+    }
+
+    public static int getDispatchLeaseSeconds() {
+        final String leaseSeconds = getPropertyOrEnvVar("CAF_SCHEDULED_EXECUTOR_DISPATCH_LEASE_SECONDS");
+        if (null == leaseSeconds || leaseSeconds.isEmpty()) {
+            return 120;
+        }
+        return Integer.parseInt(leaseSeconds);
+    }
+
     private static String getPropertyOrEnvVar(final String key)
     {
         final String propertyValue = System.getProperty(key);
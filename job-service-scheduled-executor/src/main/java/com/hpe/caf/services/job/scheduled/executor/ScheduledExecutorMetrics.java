@@ -0,0 +1,120 @@
+/*
+ * Copyright 2016-2024 Open Text.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hpe.caf.services.job.scheduled.executor;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Metrics recorded by the Job Service Scheduled Executor.
+ */
+public final class ScheduledExecutorMetrics implements ScheduledExecutorMetricsMXBean
+{
+    private static final Logger LOG = LoggerFactory.getLogger(ScheduledExecutorMetrics.class);
+
+    private static final String OBJECT_NAME = "com.hpe.caf.services.job.scheduled.executor:type=ScheduledExecutorMetrics";
+
+    private final AtomicLong completedSubtaskReportBacklog = new AtomicLong();
+    private final AtomicLong pokesReceived = new AtomicLong();
+    private final AtomicLong notificationsReceived = new AtomicLong();
+    private final AtomicLong manualPollsExecuted = new AtomicLong();
+    private final AtomicLong pokePollsExecuted = new AtomicLong();
+    private volatile LongSupplier scheduledEligiblePolls = () -> 0;
+
+    /**
+     * Registers the metrics with the platform MBean server so that they can be monitored over JMX.
+     */
+    public void register()
+    {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (final JMException e) {
+            LOG.warn("Failed to register the scheduled executor metrics.", e);
+        }
+    }
+
+    @Override
+    public long getCompletedSubtaskReportBacklog()
+    {
+        return completedSubtaskReportBacklog.get();
+    }
+
+    public void setCompletedSubtaskReportBacklog(final long backlog)
+    {
+        completedSubtaskReportBacklog.set(backlog);
+    }
+
+    @Override
+    public long getPokesReceived()
+    {
+        return pokesReceived.get();
+    }
+
+    public void incrementPokesReceived()
+    {
+        pokesReceived.incrementAndGet();
+    }
+
+    @Override
+    public long getNotificationsReceived()
+    {
+        return notificationsReceived.get();
+    }
+
+    public void incrementNotificationsReceived()
+    {
+        notificationsReceived.incrementAndGet();
+    }
+
+    @Override
+    public long getManualPollsExecuted()
+    {
+        return manualPollsExecuted.get();
+    }
+
+    public void incrementManualPollsExecuted()
+    {
+        manualPollsExecuted.incrementAndGet();
+    }
+
+    @Override
+    public long getPokePollsExecuted()
+    {
+        return pokePollsExecuted.get();
+    }
+
+    public void incrementPokePollsExecuted()
+    {
+        pokePollsExecuted.incrementAndGet();
+    }
+
+    @Override
+    public long getScheduledEligiblePolls()
+    {
+        return scheduledEligiblePolls.getAsLong();
+    }
+
+    public void setScheduledEligiblePollsSupplier(final LongSupplier supplier)
+    {
+        scheduledEligiblePolls = supplier;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2016-2024 Open Text.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hpe.caf.services.job.scheduled.executor;
+
+/**
+ * Management interface exposing the Job Service Scheduled Executor metrics over JMX.
+ */
+public interface ScheduledExecutorMetricsMXBean
+{
+    /**
+     * @return an estimate of the number of completed subtask reports which were waiting to be applied after the last processing run,
+     *         taken from the database statistics rather than counted
+     */
+    long getCompletedSubtaskReportBacklog();
+
+    /**
+     * @return the number of requests to poll for jobs to run which have been received from the Job Service
+     */
+    long getPokesReceived();
+
+    /**
+     * @return the number of notifications received from the database that jobs have become, or will become, eligible to run
+     */
+    long getNotificationsReceived();
+
+    /**
+     * @return the number of polls for jobs to run which have been made outside of the periodic schedule, in response to requests
+     *         from the Job Service, to notifications from the database, or when delayed jobs are due
+     */
+    long getManualPollsExecuted();
+
+    /**
+     * @return the number of polls for jobs to run which have been made in response to at least one request from the Job Service
+     */
+    long getPokePollsExecuted();
+
+    /**
+     * @return the number of polls which are currently scheduled for times at which jobs are due to become eligible to run
+     */
+    long getScheduledEligiblePolls();
+}
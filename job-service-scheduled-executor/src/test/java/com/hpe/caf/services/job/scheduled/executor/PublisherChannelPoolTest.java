@@ -0,0 +1,106 @@
+/*
+ * Copyright 2016-2024 Open Text.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hpe.caf.services.job.scheduled.executor;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class PublisherChannelPoolTest
+{
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Channel publishingChannel;
+
+    @Mock
+    private Channel declaringChannel;
+
+    @Test
+    public void testFailedDeclareDoesNotFailPendingPublishes() throws Exception
+    {
+        when(connection.isOpen()).thenReturn(true);
+        when(connection.createChannel()).thenReturn(publishingChannel, declaringChannel);
+        when(publishingChannel.isOpen()).thenReturn(true);
+        when(publishingChannel.getNextPublishSeqNo()).thenReturn(1L);
+        doThrow(new IOException("PRECONDITION_FAILED - inequivalent arg 'x-max-priority'"))
+            .when(declaringChannel).queueDeclare(eq("bad-queue"), anyBoolean(), anyBoolean(), anyBoolean(), anyMap());
+
+        try (final PublisherChannelPool pool = new PublisherChannelPool(1, () -> connection)) {
+            final PublisherChannel channel = pool.borrowChannel();
+            assertSame(publishingChannel, channel.getChannel());
+            final CompletableFuture<Void> pending = channel.publish("good-queue", new AMQP.BasicProperties(), new byte[]{1});
+            pool.returnChannel(channel);
+
+            assertThrows(IOException.class, () -> pool.declareQueue("bad-queue", Collections.emptyMap()));
+
+            assertFalse(pending.isDone(), "The pending publish should still be waiting for its confirm");
+            verify(publishingChannel, never()).queueDeclare(anyString(), anyBoolean(), anyBoolean(), anyBoolean(), anyMap());
+            verify(publishingChannel, never()).close();
+            assertTrue(channel.hasPendingPublishes());
+
+            channel.handleAck(1L, false);
+            assertTrue(pending.isDone());
+            assertFalse(pending.isCompletedExceptionally());
+        }
+    }
+
+    @Test
+    public void testDeclareChannelIsReplacedAfterItIsClosed() throws Exception
+    {
+        final Channel replacementChannel = mock(Channel.class);
+        when(connection.isOpen()).thenReturn(true);
+        when(connection.createChannel()).thenReturn(declaringChannel, replacementChannel);
+        when(declaringChannel.isOpen()).thenReturn(false);
+        when(replacementChannel.isOpen()).thenReturn(true);
+        doThrow(new IOException("PRECONDITION_FAILED"))
+            .when(declaringChannel).queueDeclare(eq("bad-queue"), anyBoolean(), anyBoolean(), anyBoolean(), anyMap());
+
+        try (final PublisherChannelPool pool = new PublisherChannelPool(1, () -> connection)) {
+            assertThrows(IOException.class, () -> pool.declareQueue("bad-queue", Collections.emptyMap()));
+
+            pool.declareQueue("good-queue", Collections.emptyMap());
+
+            verify(replacementChannel).queueDeclare(eq("good-queue"), eq(true), eq(false), eq(false), any());
+        }
+    }
+}
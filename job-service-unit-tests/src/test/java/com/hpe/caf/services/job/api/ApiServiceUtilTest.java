@@ -24,6 +24,8 @@ import java.util.HashMap;
 import org.junit.jupiter.api.Assertions;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -56,6 +58,30 @@ public final class ApiServiceUtilTest {
         assertEquals("testAppName", configProps.getApplicationName());
     }
 
+    @Test
+    public void testGetAppConfigReturnsSharedInstance () throws Exception {
+
+        //  Set-up test database connection properties.
+        HashMap<String, String> newEnv  = new HashMap<>();
+        newEnv.put("JOB_SERVICE_DATABASE_HOST","testHost");
+        newEnv.put("JOB_SERVICE_DATABASE_PORT", "8888");
+        newEnv.put("JOB_SERVICE_DATABASE_NAME","testName");
+        newEnv.put("JOB_SERVICE_DATABASE_USERNAME","testUserName");
+        newEnv.put("JOB_SERVICE_DATABASE_PASSWORD","testPassword");
+        newEnv.put("JOB_SERVICE_DATABASE_APPNAME","testAppName");
+        newEnv.put("CAF_JOB_SERVICE_RESUME_JOB_QUEUE", "testResumeJobQueue");
+        TestUtil.setSystemEnvironmentFields(newEnv);
+
+        //  Test that the same configuration is returned until it is reloaded.
+        AppConfig configProps = AppConfigProvider.getAppConfig();
+        assertSame(configProps, AppConfigProvider.getAppConfig());
+
+        AppConfig reloadedConfigProps = AppConfigProvider.reloadAppConfig();
+        assertNotSame(configProps, reloadedConfigProps);
+        assertSame(reloadedConfigProps, AppConfigProvider.getAppConfig());
+        assertEquals("testHost", reloadedConfigProps.getDatabaseHost());
+    }
+
     @Test
     @SuppressWarnings("ThrowableResultIgnored")
     public void testGetAppConfigPropertiesFailure_MissingDBProps () throws Exception {
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016-2024 Open Text.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hpe.caf.services.job.api;
+
+import com.hpe.caf.services.job.api.generated.model.Failure;
+
+import java.io.IOException;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public final class FailureDetailsTest {
+
+    private static final String FAILURE =
+        "{\"failureId\":\"f1\",\"failureTime\":\"2024-01-02T03:04:05.678Z\",\"failureSource\":\"worker\",\"failureMessage\":\"failed\"}";
+
+    @Test
+    public void testDecode_Null() throws Exception {
+        assertTrue(FailureDetails.decode(null).isEmpty());
+        assertTrue(FailureDetails.decode("").isEmpty());
+    }
+
+    @Test
+    public void testDecode_Failure() throws Exception {
+        final List<Failure> failures = FailureDetails.decode(FAILURE);
+
+        assertEquals(1, failures.size());
+        assertEquals("f1", failures.get(0).getFailureId());
+        assertEquals(1704164645678L, failures.get(0).getFailureTime());
+        assertEquals("worker", failures.get(0).getFailureSource());
+        assertEquals("failed", failures.get(0).getFailureMessage());
+    }
+
+    @Test
+    public void testDecode_InheritedFailure() throws Exception {
+        final List<Failure> failures = FailureDetails.decode(
+            "{\"root_failure\": \"partition:job1\", \"failure_details\": " + FAILURE + "}");
+
+        assertEquals(1, failures.size());
+        assertEquals("f1", failures.get(0).getFailureId());
+        assertEquals(1704164645678L, failures.get(0).getFailureTime());
+        assertEquals("partition:job1:worker", failures.get(0).getFailureSource());
+    }
+
+    @Test
+    public void testDecode_InheritedFailureAsString() throws Exception {
+        final List<Failure> failures = FailureDetails.decode(
+            "{\"root_failure\": \"partition:job1\", \"failure_details\": \"" + FAILURE.replace("\"", "\\\"") + "\"}");
+
+        assertEquals(1, failures.size());
+        assertEquals("partition:job1:worker", failures.get(0).getFailureSource());
+    }
+
+    @Test
+    public void testDecode_MultipleLines() throws Exception {
+        final List<Failure> failures = FailureDetails.decode(FAILURE + "\r\nnot json\n" + FAILURE);
+
+        assertEquals(3, failures.size());
+        assertEquals("f1", failures.get(0).getFailureId());
+        assertEquals("Unknown", failures.get(1).getFailureId());
+        assertEquals("Unknown", failures.get(1).getFailureSource());
+        assertEquals("not json", failures.get(1).getFailureMessage());
+        assertEquals("f1", failures.get(2).getFailureId());
+    }
+
+    @Test
+    @SuppressWarnings("ThrowableResultIgnored")
+    public void testDecode_Failure_MissingFailureTime() throws Exception {
+        Assertions.assertThrows(IOException.class, () -> FailureDetails.decode("{\"failureId\":\"f1\"}"));
+    }
+}
@@ -49,52 +49,111 @@ public final class JobsGetTest {
     public void testGetJob_Success() throws Exception {
         try (MockedConstruction<DatabaseHelper> mockDatabaseHelper = Mockito.mockConstruction(DatabaseHelper.class)){
             //  Test successful run of job retrieval.
-            JobsGet.getJobs("partition", "", null, 0, 0, null, null, null);
+            JobsGet.getJobs("partition", "", null, 0, 0, null, null, null, null);
 
             Mockito.verify(mockDatabaseHelper.constructed().get(0), Mockito.times(1)).getJobs(
-                    "partition", "", null, 0, 0, JobSortField.CREATE_DATE, SortDirection.DESCENDING, null, null);
+                    "partition", "", null, 0, 0, JobSortField.CREATE_DATE, SortDirection.DESCENDING, null, null, null);
         }
     }
 
     @Test
     @SuppressWarnings("ThrowableResultIgnored")
     public void testGetJobs_Failure_EmptyPartitionId() throws Exception {
-         Assertions.assertThrows(BadRequestException.class, () -> JobsGet.getJobs("", "", null, 0, 0, null, null, null));
+         Assertions.assertThrows(BadRequestException.class, () -> JobsGet.getJobs("", "", null, 0, 0, null, null, null, null));
     }
 
     @Test
     public void testGetJobs_Success_WithSort() throws Exception {
         try (MockedConstruction<DatabaseHelper> mockDatabaseHelper = Mockito.mockConstruction(DatabaseHelper.class)) {
-            JobsGet.getJobs("partition", "", null, 0, 0, "jobId:asc", null, null);
+            JobsGet.getJobs("partition", "", null, 0, 0, "jobId:asc", null, null, null);
             Mockito.verify(mockDatabaseHelper.constructed().get(0), Mockito.times(1)).getJobs(
-                    "partition", "", null, 0, 0, JobSortField.JOB_ID, SortDirection.ASCENDING, null, null);
+                    "partition", "", null, 0, 0, JobSortField.JOB_ID, SortDirection.ASCENDING, null, null, null);
         }
     }
 
     @Test
     public void testGetJobs_Success_WithNameSort() throws Exception {
         try (MockedConstruction<DatabaseHelper> mockDatabaseHelper = Mockito.mockConstruction(DatabaseHelper.class)) {
-            JobsGet.getJobs("partition", "", null, 0, 0, "name:asc", null, null);
+            JobsGet.getJobs("partition", "", null, 0, 0, "name:asc", null, null, null);
             Mockito.verify(mockDatabaseHelper.constructed().get(0), Mockito.times(1)).getJobs(
-                    "partition", "", null, 0, 0, JobSortField.NAME, SortDirection.ASCENDING, null, null);
+                    "partition", "", null, 0, 0, JobSortField.NAME, SortDirection.ASCENDING, null, null, null);
         }
     }
 
     @Test
     @SuppressWarnings("ThrowableResultIgnored")
     public void testGetJobs_Failure_InvalidSort() throws Exception {
-        Assertions.assertThrows(BadRequestException.class, () -> JobsGet.getJobs("partition", "", null, 0, 0, "invalid", null, null));
+        Assertions.assertThrows(BadRequestException.class, () -> JobsGet.getJobs("partition", "", null, 0, 0, "invalid", null, null, null));
     }
 
     @Test
     @SuppressWarnings("ThrowableResultIgnored")
     public void testGetJobs_Failure_InvalidSortField() throws Exception {
-        Assertions.assertThrows(BadRequestException.class, () -> JobsGet.getJobs("partition", "", null, 0, 0, "unknown:desc", null, null));
+        Assertions.assertThrows(BadRequestException.class, () -> JobsGet.getJobs("partition", "", null, 0, 0, "unknown:desc", null, null, null));
     }
 
     @Test
     @SuppressWarnings("ThrowableResultIgnored")
     public void testGetJobs_Failure_InvalidSortDirection() throws Exception {
-        Assertions.assertThrows(BadRequestException.class, () -> JobsGet.getJobs("partition", "", null, 0, 0, "jobId:random", null, null));
+        Assertions.assertThrows(BadRequestException.class, () -> JobsGet.getJobs("partition", "", null, 0, 0, "jobId:random", null, null, null));
+    }
+
+    @Test
+    public void testGetJobs_Success_WithContinuationToken() throws Exception {
+        try (MockedConstruction<DatabaseHelper> mockDatabaseHelper = Mockito.mockConstruction(DatabaseHelper.class)) {
+            final String token = ContinuationToken.create(JobSortField.NAME, SortDirection.ASCENDING, "job1", "name1").encode();
+            JobsGet.getJobs("partition", "", null, 0, 0, "name:asc", null, null, token);
+            Mockito.verify(mockDatabaseHelper.constructed().get(0), Mockito.times(1)).getJobs(
+                    Mockito.eq("partition"), Mockito.eq(""), Mockito.isNull(), Mockito.eq(0), Mockito.eq(0),
+                    Mockito.eq(JobSortField.NAME), Mockito.eq(SortDirection.ASCENDING), Mockito.isNull(), Mockito.isNull(),
+                    Mockito.argThat(after -> "job1".equals(after.getJobId()) && "name1".equals(after.getSortKey())));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("ThrowableResultIgnored")
+    public void testGetJobs_Failure_InvalidContinuationToken() throws Exception {
+        Assertions.assertThrows(BadRequestException.class,
+                                () -> JobsGet.getJobs("partition", "", null, 0, 0, null, null, null, "not a token"));
+    }
+
+    @Test
+    @SuppressWarnings("ThrowableResultIgnored")
+    public void testGetJobs_Failure_ContinuationTokenForDifferentSort() throws Exception {
+        final String token = ContinuationToken.create(JobSortField.NAME, SortDirection.ASCENDING, "job1", "name1").encode();
+        Assertions.assertThrows(BadRequestException.class,
+                                () -> JobsGet.getJobs("partition", "", null, 0, 0, "name:desc", null, null, token));
+    }
+
+    @Test
+    @SuppressWarnings("ThrowableResultIgnored")
+    public void testGetJobs_Failure_ContinuationTokenWithOffset() throws Exception {
+        final String token = ContinuationToken.create(JobSortField.NAME, SortDirection.ASCENDING, "job1", "name1").encode();
+        Assertions.assertThrows(BadRequestException.class,
+                                () -> JobsGet.getJobs("partition", "", null, 0, 10, "name:asc", null, null, token));
+    }
+
+    @Test
+    public void testStreamJobs_Success() throws Exception {
+        try (MockedConstruction<DatabaseHelper> mockDatabaseHelper = Mockito.mockConstruction(DatabaseHelper.class)) {
+            final JobsStream.JobConsumer consumer = job -> {};
+            final JobsStream jobs = JobsGet.streamJobs("partition", "", null, 0, 0, "jobId:asc", null, null, null);
+
+            //  Nothing is read from the database until the stream is consumed.
+            Mockito.verify(mockDatabaseHelper.constructed().get(0), Mockito.never()).streamJobs(
+                    Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+                    Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+
+            jobs.forEach(consumer);
+            Mockito.verify(mockDatabaseHelper.constructed().get(0), Mockito.times(1)).streamJobs(
+                    "partition", "", null, 0, 0, JobSortField.JOB_ID, SortDirection.ASCENDING, null, null, null, consumer);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("ThrowableResultIgnored")
+    public void testStreamJobs_Failure_InvalidSort() throws Exception {
+        Assertions.assertThrows(BadRequestException.class,
+                                () -> JobsGet.streamJobs("partition", "", null, 0, 0, "invalid", null, null, null));
     }
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2016-2024 Open Text.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hpe.caf.services.job.api;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hpe.caf.services.job.api.generated.model.SortDirection;
+import com.hpe.caf.services.job.api.generated.model.SortField;
+import com.hpe.caf.services.job.exceptions.BadRequestException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+
+/**
+ * Identifies where the next page of a list of jobs starts.
+ * <p>
+ * The token records the sort key and identifier of the last job on a page, so that the next page can be read by seeking past that
+ * job rather than by skipping over all of the jobs on the earlier pages. It also records the sort order that it was created for,
+ * as it cannot be used with any other. Clients should treat the encoded token as opaque.
+ */
+public final class ContinuationToken
+{
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final String sort;
+    private final String jobId;
+    private final String sortKey;
+
+    @JsonCreator
+    private ContinuationToken(
+        @JsonProperty("sort") final String sort,
+        @JsonProperty("jobId") final String jobId,
+        @JsonProperty("sortKey") final String sortKey
+    )
+    {
+        this.sort = sort;
+        this.jobId = jobId;
+        this.sortKey = sortKey;
+    }
+
+    /**
+     * @param sortField the field that the jobs are sorted by
+     * @param sortDirection the direction that the jobs are sorted in
+     * @param jobId the identifier of the last job on the page
+     * @param sortKey the sort key of the last job on the page, as returned by the database, possibly null
+     */
+    public static ContinuationToken create(
+        final SortField sortField,
+        final SortDirection sortDirection,
+        final String jobId,
+        final String sortKey
+    )
+    {
+        return new ContinuationToken(getSortIdentifier(sortField, sortDirection), jobId, sortKey);
+    }
+
+    /**
+     * Decodes a token which was returned with an earlier page of jobs.
+     *
+     * @param token the encoded token
+     * @param sortField the field that the jobs are being sorted by
+     * @param sortDirection the direction that the jobs are being sorted in
+     * @return the decoded token
+     * @throws BadRequestException if the token is not valid, or was created for a different sort order
+     */
+    public static ContinuationToken decode(final String token, final SortField sortField, final SortDirection sortDirection)
+        throws BadRequestException
+    {
+        final ContinuationToken continuationToken;
+        try {
+            continuationToken = OBJECT_MAPPER.readValue(Base64.getUrlDecoder().decode(token), ContinuationToken.class);
+        } catch (final IllegalArgumentException | IOException ex) {
+            throw new BadRequestException("Invalid continuation token: " + token);
+        }
+        if (continuationToken.jobId == null) {
+            throw new BadRequestException("Invalid continuation token: " + token);
+        }
+        if (!getSortIdentifier(sortField, sortDirection).equals(continuationToken.sort)) {
+            throw new BadRequestException("The continuation token was not created for the requested sort order");
+        }
+        return continuationToken;
+    }
+
+    /**
+     * @return the encoded token
+     */
+    public String encode()
+    {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(OBJECT_MAPPER.writeValueAsBytes(this));
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @JsonProperty("sort")
+    public String getSort()
+    {
+        return sort;
+    }
+
+    /**
+     * @return the identifier of the last job on the previous page
+     */
+    @JsonProperty("jobId")
+    public String getJobId()
+    {
+        return jobId;
+    }
+
+    /**
+     * @return the sort key of the last job on the previous page, possibly null
+     */
+    @JsonProperty("sortKey")
+    public String getSortKey()
+    {
+        return sortKey;
+    }
+
+    private static String getSortIdentifier(final SortField sortField, final SortDirection sortDirection)
+    {
+        final String sortLabel = sortField.getSortLabel();
+        final String field = sortLabel == null || sortLabel.isEmpty() ? sortField.getDbField() : "labels." + sortLabel;
+        return field + ":" + sortDirection.getApiValue();
+    }
+}
@@ -16,7 +16,6 @@
 package com.hpe.caf.services.job.api;
 
 import com.hpe.caf.services.db.client.DatabaseConnectionProvider;
-import com.hpe.caf.services.job.api.generated.model.Failure;
 import com.hpe.caf.services.job.api.generated.model.Job;
 import com.hpe.caf.services.configuration.AppConfig;
 import com.hpe.caf.services.job.api.generated.model.JobStatus;
@@ -26,34 +25,31 @@ import com.hpe.caf.services.job.exceptions.BadRequestException;
 import com.hpe.caf.services.job.exceptions.ForbiddenException;
 import com.hpe.caf.services.job.exceptions.NotFoundException;
 import com.hpe.caf.services.job.exceptions.ServiceUnavailableException;
-import org.codehaus.jettison.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
-import java.text.ParseException;
-import java.time.Instant;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.stream.Collectors;
-import org.codehaus.jettison.json.JSONException;
 
 /**
  * The DatabaseHelper class is responsible for database operations.
  */
 public final class DatabaseHelper
 {
-    private static final String FAILURE_PROPERTY_MISSING = "Unknown";
-
     // PostgreSQL Error Codes: https://www.postgresql.org/docs/current/errcodes-appendix.html
     private static final String POSTGRES_CONNECTION_EXCEPTION_ERROR_CODE_PREFIX = "08";
     private static final String POSTGRES_NO_DATA_ERROR_CODE = "02000";
     private static final String POSTGRES_NO_DATA_FOUND_ERROR_CODE = "P0002";
     private static final String POSTGRES_UNIQUE_VIOLATION_ERROR_CODE = "23505";
 
+    private static final String GET_JOBS_CALL = "{call get_jobs(?,?,?,?,?,?,?,?,?,?,?,?)}";
+    private static final String UPDATE_JOBS_PROGRESS_CALL = "{call update_jobs_progress(?,?,?,?,?,?,?,?,?,?,?,?)}";
+    private static final String GET_JOBS_CURSOR_QUERY = "SELECT get_jobs_cursor(?,?,?,?,?,?,?,?,?,?,?,?)";
+
     private static AppConfig appConfig;
 
     private static final Logger LOG = LoggerFactory.getLogger(DatabaseHelper.class);
@@ -68,77 +64,38 @@ public final class DatabaseHelper
         DatabaseHelper.appConfig = appConfig;
     }
 
-    public Job[] getJobs(final String partitionId, String jobIdStartsWith, String statusType, Integer limit,
-                         Integer offset, final SortField sortField, final SortDirection sortDirection,
-                         final List<String> labels, final String filter) throws Exception {
+    /**
+     * Returns a page of the job definitions in the system.
+     *
+     * @param after identifies the last job on the previous page, or null to start from the first job
+     */
+    public JobsPage getJobs(final String partitionId, final String jobIdStartsWith, final String statusType, Integer limit,
+                            final Integer offset, final SortField sortField, final SortDirection sortDirection,
+                            final List<String> labels, final String filter, final ContinuationToken after) throws Exception {
+
+        final List<Job> jobs = new ArrayList<>();
+        String lastSortKey = null;
 
-        final Map<String, Job> jobs = new LinkedHashMap<>(); //Linked rather than hash to preserve order of results.
+        if (limit == null) {
+            limit = 0;
+        }
 
         try (
                 final Connection conn = DatabaseConnectionProvider.getConnection(appConfig);
-                final CallableStatement stmt = conn.prepareCall("{call get_jobs(?,?,?,?,?,?,?,?,?,?)}")
+                final CallableStatement stmt = conn.prepareCall(GET_JOBS_CALL)
         ) {
-            if (jobIdStartsWith == null) {
-                jobIdStartsWith = "";
-            }
-            if (statusType == null) {
-                statusType = "";
-            }
-            if (limit == null) {
-                limit = 0;
-            }
-            if (offset == null) {
-                offset = 0;
-            }
-            stmt.setString(1, partitionId);
-            stmt.setString(2, jobIdStartsWith);
-            stmt.setString(3, statusType);
-            stmt.setInt(4, limit);
-            stmt.setInt(5, offset);
-            stmt.setString(6, sortField.getDbField());
-            stmt.setString(7, sortField.getSortLabel());
-            stmt.setBoolean(8, sortDirection.getDbValue());
-            Array array;
-            if (labels != null) {
-                array = conn.createArrayOf("VARCHAR", labels.toArray());
-            } else {
-                array = conn.createArrayOf("VARCHAR", new String[0]);
-            }
-            stmt.setArray(9, array);
-            stmt.setString(10, filter);
+            final Array array = setGetJobsParameters(conn, stmt, partitionId, jobIdStartsWith, statusType, limit, offset,
+                                                     sortField, sortDirection, labels, filter, after);
 
             //  Execute a query to return a list of all job definitions in the system.
             LOG.debug("Calling get_jobs() database function...");
             try (final ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    final Job job = new Job();
-                    job.setId(rs.getString("job_id"));
-                    job.setName(rs.getString("name"));
-                    job.setDescription(rs.getString("description"));
-                    job.setExternalData(rs.getString("data"));
-                    job.setCreateTime(getDate(rs.getString("create_date")));
-                    job.setLastUpdateTime(getDate(rs.getString("last_update_date")));
-                    job.setStatus(JobStatus.valueOf(rs.getString("status").toUpperCase(Locale.ENGLISH)));
-                    job.setPercentageComplete(rs.getFloat("percentage_complete"));
-
-                    //  Parse JSON failure sub-strings.
-                    final String failureDetails = rs.getString("failure_details");
-                    job.setFailures(getFailuresAsList(failureDetails));
-
-                    final String label = rs.getString("label");
-                    if (ApiServiceUtil.isNotNullOrEmpty(label)) {
-                        job.getLabels().put(label, rs.getString("label_value"));
-                    }
-                    //We joined onto the labels table and there may be multiple rows for the same job, so merge their labels
-                    jobs.merge(job.getId(), job, (orig, insert) -> {
-                        orig.getLabels().putAll(insert.getLabels());
-                        return orig;
-                    });
+                    jobs.add(readJob(rs));
+                    lastSortKey = rs.getString("sort_key");
                 }
             } finally {
-                if (array != null) {
-                    array.free();
-                }
+                array.free();
             }
         } catch (final SQLException se) {
            throw mapSqlConnectionException(se);
@@ -146,8 +103,140 @@ public final class DatabaseHelper
 
         //  Convert arraylist to array of jobs.
         Job[] jobArr = new Job[jobs.size()];
-        jobArr = jobs.values().toArray(jobArr);
-        return jobArr;
+        jobArr = jobs.toArray(jobArr);
+
+        //  A full page may be followed by another, so return a token for the page after it.
+        final int pageSize = limit > 0 ? limit : 25;
+        final ContinuationToken next = jobArr.length == pageSize
+            ? ContinuationToken.create(sortField, sortDirection, jobArr[jobArr.length - 1].getId(), lastSortKey)
+            : null;
+        return new JobsPage(jobArr, next);
+    }
+
+    /**
+     * Passes a page of the job definitions in the system to the consumer one job at a time, as soon as it has been read, rather
+     * than collecting the whole page first.
+     * <p>
+     * Any outstanding progress is applied to the jobs on the page in a short transaction of its own, which is committed before the
+     * page is read, so that no job rows are locked while the consumer writes the jobs out. The page is then read through a
+     * cursor in a read-only transaction, fetching {@link AppConfig#getJobsFetchSize()} rows at a time, so only the current batch
+     * is held in memory however large the page is, and the first jobs are passed on before the rest have been read.
+     *
+     * @param after identifies the last job on the previous page, or null to start from the first job
+     */
+    public void streamJobs(final String partitionId, final String jobIdStartsWith, final String statusType, final Integer limit,
+                           final Integer offset, final SortField sortField, final SortDirection sortDirection,
+                           final List<String> labels, final String filter, final ContinuationToken after,
+                           final JobsStream.JobConsumer consumer) throws Exception {
+
+        final int fetchSize = Math.max(appConfig.getJobsFetchSize(), 1);
+
+        try (final Connection conn = DatabaseConnectionProvider.getConnection(appConfig)) {
+            try (final CallableStatement stmt = conn.prepareCall(UPDATE_JOBS_PROGRESS_CALL)) {
+                final Array array = setGetJobsParameters(conn, stmt, partitionId, jobIdStartsWith, statusType, limit, offset,
+                                                         sortField, sortDirection, labels, filter, after);
+                LOG.debug("Calling update_jobs_progress() database function...");
+                try {
+                    stmt.execute();
+                } finally {
+                    array.free();
+                }
+            }
+
+            // The cursor only lasts as long as the transaction which opens it
+            conn.setReadOnly(true);
+            conn.setAutoCommit(false);
+            try {
+                final String cursorName;
+                try (final PreparedStatement stmt = conn.prepareStatement(GET_JOBS_CURSOR_QUERY)) {
+                    final Array array = setGetJobsParameters(conn, stmt, partitionId, jobIdStartsWith, statusType, limit,
+                                                             offset, sortField, sortDirection, labels, filter, after);
+                    LOG.debug("Calling get_jobs_cursor() database function...");
+                    try (final ResultSet rs = stmt.executeQuery()) {
+                        rs.next();
+                        cursorName = rs.getString(1);
+                    } finally {
+                        array.free();
+                    }
+                }
+
+                final String fetchSql = "FETCH FORWARD " + fetchSize + " FROM \"" + cursorName.replace("\"", "\"\"") + "\"";
+                try (final Statement stmt = conn.createStatement()) {
+                    int fetched;
+                    do {
+                        fetched = 0;
+                        try (final ResultSet rs = stmt.executeQuery(fetchSql)) {
+                            while (rs.next()) {
+                                fetched++;
+                                consumer.accept(readJob(rs));
+                            }
+                        }
+                    } while (fetched == fetchSize);
+                }
+                conn.commit();
+            } catch (final Exception ex) {
+                conn.rollback();
+                throw ex;
+            }
+        } catch (final SQLException se) {
+           throw mapSqlConnectionException(se);
+        }
+    }
+
+    private static Array setGetJobsParameters(
+        final Connection conn, final PreparedStatement stmt, final String partitionId, final String jobIdStartsWith,
+        final String statusType, final Integer limit, final Integer offset, final SortField sortField,
+        final SortDirection sortDirection, final List<String> labels, final String filter, final ContinuationToken after
+    ) throws SQLException {
+        stmt.setString(1, partitionId);
+        stmt.setString(2, jobIdStartsWith == null ? "" : jobIdStartsWith);
+        stmt.setString(3, statusType == null ? "" : statusType);
+        stmt.setInt(4, limit == null ? 0 : limit);
+        stmt.setInt(5, offset == null ? 0 : offset);
+        stmt.setString(6, sortField.getDbField());
+        stmt.setString(7, sortField.getSortLabel());
+        stmt.setBoolean(8, sortDirection.getDbValue());
+        final Array array = conn.createArrayOf("VARCHAR", labels != null ? labels.toArray() : new String[0]);
+        stmt.setArray(9, array);
+        stmt.setString(10, filter);
+        stmt.setString(11, after == null ? null : after.getJobId());
+        stmt.setString(12, after == null ? null : after.getSortKey());
+        return array;
+    }
+
+    /**
+     * Reads a job, including its labels, from a row returned by get_job(), get_jobs() or get_jobs_cursor().
+     */
+    private static Job readJob(final ResultSet rs) throws Exception {
+        final Job job = new Job();
+        job.setId(rs.getString("job_id"));
+        job.setName(rs.getString("name"));
+        job.setDescription(rs.getString("description"));
+        job.setExternalData(rs.getString("data"));
+        job.setCreateTime(rs.getLong("create_date"));
+        job.setLastUpdateTime(rs.getLong("last_update_date"));
+        job.setStatus(JobStatus.valueOf(rs.getString("status").toUpperCase(Locale.ENGLISH)));
+        job.setPercentageComplete(rs.getFloat("percentage_complete"));
+
+        //  Parse JSON failure sub-strings.
+        final String failureDetails = rs.getString("failure_details");
+        job.setFailures(FailureDetails.decode(failureDetails));
+
+        //  The labels are returned as a pair of arrays, which are null if the job has no labels.
+        final Array labels = rs.getArray("labels");
+        if (labels != null) {
+            final Array labelValues = rs.getArray("label_values");
+            final String[] labelArr = (String[]) labels.getArray();
+            final String[] labelValueArr = (String[]) labelValues.getArray();
+            for (int i = 0; i < labelArr.length; i++) {
+                if (ApiServiceUtil.isNotNullOrEmpty(labelArr[i])) {
+                    job.getLabels().put(labelArr[i], labelValueArr[i]);
+                }
+            }
+            labels.free();
+            labelValues.free();
+        }
+        return job;
     }
 
     /**
@@ -203,26 +292,7 @@ public final class DatabaseHelper
             //  Execute a query to return a list of all job definitions in the system.
             LOG.debug("Calling get_job() database function...");
             try (final ResultSet rs = stmt.executeQuery()) {
-                job = new Job();
-                while (rs.next()) {
-                    job.setId(rs.getString("job_id"));
-                    job.setName(rs.getString("name"));
-                    job.setDescription(rs.getString("description"));
-                    job.setExternalData(rs.getString("data"));
-                    job.setCreateTime(getDate(rs.getString("create_date")));
-                    job.setLastUpdateTime(getDate(rs.getString("last_update_date")));
-                    job.setStatus(JobStatus.valueOf(rs.getString("status").toUpperCase(Locale.ENGLISH)));
-                    job.setPercentageComplete(rs.getFloat("percentage_complete"));
-
-                    //  Parse JSON failure sub-strings.
-                    final String failureDetails = rs.getString("failure_details");
-                    job.setFailures(getFailuresAsList(failureDetails));
-
-                    final String label = rs.getString("label");
-                    if (ApiServiceUtil.isNotNullOrEmpty(label)) {
-                        job.getLabels().put(label, rs.getString("label_value"));
-                    }
-                }
+                job = rs.next() ? readJob(rs) : new Job();
             }
         } catch (final SQLException se) {
            throw mapSqlNoDataException(se);
@@ -445,17 +515,8 @@ public final class DatabaseHelper
 
     public JobStatus getJobStatus(final String partitionId, final String jobId) throws Exception
     {
-        try (
-            final Connection conn = DatabaseConnectionProvider.getConnection(appConfig);
-            final CallableStatement stmt = conn.prepareCall("{call get_job(?,?)}")) {
-            stmt.setString(1, partitionId);
-            stmt.setString(2, jobId);
-
-            //  Execute a query to get the staus of the specified job.
-            LOG.debug("Calling get_job() database function...");
-            final ResultSet rs = stmt.executeQuery();
-            rs.next();
-            return JobStatus.valueOf(rs.getString("status").toUpperCase(Locale.ENGLISH));
+        try (final Connection conn = DatabaseConnectionProvider.getConnection(appConfig)) {
+            return getJobStatus(conn, partitionId, jobId);
         } catch (final SQLException se) {
             throw mapSqlNoDataException(se);
         }
@@ -468,27 +529,40 @@ public final class DatabaseHelper
 
         boolean active = false;
 
-        try (
-                Connection conn = DatabaseConnectionProvider.getConnection(appConfig);
-                CallableStatement stmt = conn.prepareCall("{call get_job(?,?)}")
-        ) {
+        try (final Connection conn = DatabaseConnectionProvider.getConnection(appConfig)) {
+            final JobStatus status = getJobStatus(conn, partitionId, jobId);
+            active = status == JobStatus.ACTIVE || status == JobStatus.WAITING;
+        } catch (final SQLException se) {
+            throwIfUnexpectedException(se);
+        }
+
+        return active;
+    }
+
+    /**
+     * Gets the status of the specified job in a read-only transaction, without locking the job row.
+     */
+    private static JobStatus getJobStatus(final Connection conn, final String partitionId, final String jobId)
+        throws SQLException
+    {
+        conn.setAutoCommit(false);
+        conn.setReadOnly(true);
+
+        final JobStatus status;
+        try (final CallableStatement stmt = conn.prepareCall("{call get_job_status(?,?)}")) {
             stmt.setString(1, partitionId);
             stmt.setString(2, jobId);
 
-            //  Execute a query to determine if the specified job is active or not.
-            LOG.debug("Calling get_job() database function...");
-            ResultSet rs = stmt.executeQuery();
-            if(rs.next()){
-                final JobStatus status =
-                    JobStatus.valueOf(rs.getString("status").toUpperCase(Locale.ENGLISH));
-                active = status == JobStatus.ACTIVE || status == JobStatus.WAITING;
+            //  Execute a query to get the status of the specified job.
+            LOG.debug("Calling get_job_status() database function...");
+            try (final ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                status = JobStatus.valueOf(rs.getString("status").toUpperCase(Locale.ENGLISH));
             }
-
-        } catch (final SQLException se) {
-            throwIfUnexpectedException(se);
         }
+        conn.commit();
 
-        return active;
+        return status;
     }
 
     /**
@@ -596,64 +670,6 @@ public final class DatabaseHelper
         }
     }
 
-    /**
-     * Parses the failure details string returned from the database and returns as a list.
-     */
-    private static List<Failure> getFailuresAsList (String failureDetails) throws Exception {
-
-        List<Failure> failures = new ArrayList<>();
-
-        if(failureDetails == null || failureDetails.isEmpty()) {
-            return failures;
-        }
-
-        //  Split on newline character.
-        for (String failure: failureDetails.split("\\r?\\n")){
-            if (failure.startsWith("{")) {
-                JSONObject jFailure = new JSONObject(failure);
-                final Failure f;
-                if (jFailure.has("root_failure")) {
-                    f = getFailureFromJsonObject(new JSONObject(jFailure.getString("failure_details")));
-                    f.setFailureSource(jFailure.getString("root_failure") + ":" + f.getFailureSource());
-                } else {
-                    f = getFailureFromJsonObject(jFailure);
-                }
-                failures.add(f);
-            } else {
-                //  Valid failure JSON not detected.
-                Failure f = new Failure();
-                f.setFailureId(FAILURE_PROPERTY_MISSING);
-                f.setFailureTime(System.currentTimeMillis());
-                f.failureSource(FAILURE_PROPERTY_MISSING);
-                f.failureMessage(failure);
-                failures.add(f);
-            }
-        }
-
-        return failures;
-
-    }
-
-    private static Failure getFailureFromJsonObject(final JSONObject json) throws JSONException, ParseException
-    {
-        final Failure f = new Failure();
-        f.setFailureId(json.getString("failureId"));
-        f.setFailureTime(getDate(json.getString("failureTime")));
-        f.failureSource(json.getString("failureSource"));
-        f.failureMessage(json.getString("failureMessage"));
-        return f;
-    }
-
-    /**
-     * Returns java.util.date from a string.
-     */
-    private static long getDate(String dateString) throws ParseException {
-
-        Instant instant = Instant.parse ( dateString );
-        return instant.toEpochMilli();
-
-    }
-
     private static Exception mapSqlConnectionException(final SQLException se) throws Exception
     {
         final String sqlState = se.getSQLState();
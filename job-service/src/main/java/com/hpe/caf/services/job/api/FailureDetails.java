@@ -0,0 +1,146 @@
+/*
+ * Copyright 2016-2024 Open Text.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hpe.caf.services.job.api;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.hpe.caf.services.job.api.generated.model.Failure;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Decodes the failure details which are recorded against a job.
+ */
+public final class FailureDetails
+{
+    private static final String FAILURE_PROPERTY_MISSING = "Unknown";
+    private static final Pattern NEWLINE = Pattern.compile("\\r?\\n");
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private FailureDetails()
+    {
+    }
+
+    /**
+     * Decodes the failures from the failure details of a job, which hold one failure on each line.
+     * <p>
+     * Each line is either a JSON failure, a JSON failure nested under the identifier of the job that it was inherited from, or
+     * text which was not recorded as JSON. Each JSON line is decoded in a single pass, including any nested failure.
+     *
+     * @param failureDetails the failure details of the job, possibly null
+     * @return the failures, in the order they were recorded
+     */
+    public static List<Failure> decode(final String failureDetails) throws IOException
+    {
+        final List<Failure> failures = new ArrayList<>();
+
+        if (failureDetails == null || failureDetails.isEmpty()) {
+            return failures;
+        }
+
+        for (final String failure : NEWLINE.split(failureDetails)) {
+            if (failure.startsWith("{")) {
+                try (final JsonParser parser = JSON_FACTORY.createParser(failure)) {
+                    parser.nextToken();
+                    failures.add(readFailure(parser));
+                }
+            } else {
+                //  Valid failure JSON not detected.
+                final Failure f = new Failure();
+                f.setFailureId(FAILURE_PROPERTY_MISSING);
+                f.setFailureTime(System.currentTimeMillis());
+                f.setFailureSource(FAILURE_PROPERTY_MISSING);
+                f.setFailureMessage(failure);
+                failures.add(f);
+            }
+        }
+
+        return failures;
+    }
+
+    /**
+     * Reads a failure from the JSON object that the parser is positioned at the start of.
+     */
+    private static Failure readFailure(final JsonParser parser) throws IOException
+    {
+        final Failure f = new Failure();
+        String failureTime = null;
+        String rootFailure = null;
+        Failure inheritedFailure = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String fieldName = parser.currentName();
+            final JsonToken value = parser.nextToken();
+            switch (fieldName) {
+                case "failureId":
+                    f.setFailureId(parser.getValueAsString());
+                    break;
+                case "failureTime":
+                    failureTime = parser.getValueAsString();
+                    break;
+                case "failureSource":
+                    f.setFailureSource(parser.getValueAsString());
+                    break;
+                case "failureMessage":
+                    f.setFailureMessage(parser.getValueAsString());
+                    break;
+                case "root_failure":
+                    rootFailure = parser.getValueAsString();
+                    break;
+                case "failure_details":
+                    inheritedFailure = value == JsonToken.START_OBJECT
+                        ? readFailure(parser)
+                        : readNestedFailure(parser.getValueAsString());
+                    break;
+                default:
+                    break;
+            }
+            parser.skipChildren();
+        }
+
+        //  A failure inherited from a prerequisite job is reported with the identifier of that job prepended to its source.
+        if (rootFailure != null) {
+            if (inheritedFailure == null) {
+                throw new JsonParseException(parser, "Inherited failure has no failure_details");
+            }
+            inheritedFailure.setFailureSource(rootFailure + ":" + inheritedFailure.getFailureSource());
+            return inheritedFailure;
+        }
+
+        if (failureTime == null) {
+            throw new JsonParseException(parser, "Failure has no failureTime");
+        }
+        f.setFailureTime(Instant.parse(failureTime).toEpochMilli());
+        return f;
+    }
+
+    private static Failure readNestedFailure(final String failure) throws IOException
+    {
+        if (failure == null) {
+            return null;
+        }
+        try (final JsonParser parser = JSON_FACTORY.createParser(failure)) {
+            parser.nextToken();
+            return readFailure(parser);
+        }
+    }
+}
@@ -67,7 +67,7 @@ public final class JobsActive {
 
             //  Get app config settings.
             LOG.debug("isJobActive: Reading database connection properties...");
-            AppConfig config = AppConfigProvider.getAppConfigProperties();
+            AppConfig config = AppConfigProvider.getAppConfig();
 
             //  Get the number of seconds after which it is appropriate to try to confirm that the task has not been cancelled or aborted.
             statusCheckIntervalSeconds = Integer.parseInt(config.getStatusCheckIntervalSeconds());
@@ -54,7 +54,7 @@ public final class JobsCancel {
 
             //  Get app config settings.
             LOG.debug("cancel: Reading database connection properties...");
-            AppConfig config = AppConfigProvider.getAppConfigProperties();
+            AppConfig config = AppConfigProvider.getAppConfig();
 
             //  Get database helper instance.
             DatabaseHelper databaseHelper =new DatabaseHelper(config);
@@ -95,7 +95,7 @@ public final class JobsCancel {
 
             //  Get app config settings.
             LOG.debug("cancelJobs: Reading database connection properties...");
-            final AppConfig config = AppConfigProvider.getAppConfigProperties();
+            final AppConfig config = AppConfigProvider.getAppConfig();
 
             //  Get database helper instance.
             final DatabaseHelper databaseHelper = new DatabaseHelper(config);
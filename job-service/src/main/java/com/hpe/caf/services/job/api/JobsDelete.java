@@ -54,7 +54,7 @@ public final class JobsDelete {
 
             //  Get app config settings.
             LOG.debug("deleteJob: Reading database connection properties...");
-            AppConfig config = AppConfigProvider.getAppConfigProperties();
+            AppConfig config = AppConfigProvider.getAppConfig();
 
             //  Get database helper instance.
             DatabaseHelper databaseHelper = new DatabaseHelper(config);
@@ -88,7 +88,7 @@ public final class JobsDelete {
 
             // Get the app config settings.
             LOG.debug("deleteJobs: Reading database connection properties...");
-            final AppConfig config = AppConfigProvider.getAppConfigProperties();
+            final AppConfig config = AppConfigProvider.getAppConfig();
 
             // Get database helper instance
             final DatabaseHelper databaseHelper = new DatabaseHelper(config);
@@ -16,7 +16,6 @@
 package com.hpe.caf.services.job.api;
 
 import com.hpe.caf.services.configuration.AppConfigProvider;
-import com.hpe.caf.services.job.api.generated.model.Job;
 import com.hpe.caf.services.configuration.AppConfig;
 import com.hpe.caf.services.job.api.filter.RsqlToSqlUtils;
 import com.hpe.caf.services.job.api.generated.model.JobSortField;
@@ -47,78 +46,170 @@ public final class JobsGet {
      * @param labelExists   optional metadata to filter against
      * @param sort          optional sort field to order by
      * @param filter        optional filter to use when returning results
-     * @return  jobs        list of jobs
+     * @param continuationToken optional token returned with the previous page, to return the page which follows it
+     * @return  jobs        page of jobs
      * @throws Exception    bad request or database exceptions
      */
-    public static Job[] getJobs(final String partitionId, final String jobId, final String statusType, Integer limit,
-                                final Integer offset, final String sort, final String labelExists, final String filter) throws Exception {
+    public static JobsPage getJobs(final String partitionId, final String jobId, final String statusType, final Integer limit,
+                                   final Integer offset, final String sort, final String labelExists, final String filter,
+                                   final String continuationToken) throws Exception {
 
-        Job[] jobs;
+        JobsPage jobs;
 
         try {
             LOG.debug("getJobs: Starting...");
-            ApiServiceUtil.validatePartitionId(partitionId);
+            final JobsQuery query = createQuery(
+                partitionId, jobId, statusType, limit, offset, sort, labelExists, filter, continuationToken);
 
-            final SortField sortField;
-            final SortDirection sortDirection;
+            //  Get list of job definitions in the system.
+            LOG.debug("getJobs: Getting list of job definitions...");
+            jobs = query.databaseHelper.getJobs(
+                query.partitionId, query.jobId, query.statusType, query.limit, query.offset, query.sortField,
+                query.sortDirection, query.labelValues, query.filterQuery, query.after);
+        } catch (Exception e) {
+            LOG.error("Error - ", e);
+            throw e;
+        }
 
-            if (sort == null) {
-                sortField = DEFAULT_SORT_FIELD;
-                sortDirection = DEFAULT_SORT_DIRECTION;
 
-            } else {
-                final String[] sortParts = sort.split(":", 2);
-                if (sortParts.length != 2) {
-                    throw new BadRequestException("Invalid format for sort: " + sort);
-                }
-                if (sortParts[0].startsWith("labels.")) {
-                    final String[] labelParts = sortParts[0].split("\\.", 2);
-                    if (labelParts[1].isEmpty()) {
-                        throw new BadRequestException("Invalid format for label sort specified");
-                    }
-                    sortField = new LabelsSortField(labelParts[1]);
-                } else {
-                    sortField = JobSortField.fromApiValue(sortParts[0]);
-                    if (sortField == null) {
-                        throw new BadRequestException("Invalid value for sort field: " + sort);
-                    }
+        LOG.debug("getJobs: Done.");
+        return jobs;
+    }
+
+    /**
+     * Gets a list of jobs which is read from the job database as it is consumed, rather than being held in memory.
+     * <p>
+     * The parameters are validated before this method returns, so that a bad request can still be rejected before any of the
+     * response has been written. The returned stream does not provide a continuation token for the next page.
+     *
+     * @see #getJobs
+     */
+    public static JobsStream streamJobs(final String partitionId, final String jobId, final String statusType, final Integer limit,
+                                        final Integer offset, final String sort, final String labelExists, final String filter,
+                                        final String continuationToken) throws Exception {
+
+        final JobsQuery query;
+
+        try {
+            LOG.debug("streamJobs: Starting...");
+            query = createQuery(partitionId, jobId, statusType, limit, offset, sort, labelExists, filter, continuationToken);
+        } catch (Exception e) {
+            LOG.error("Error - ", e);
+            throw e;
+        }
+
+        return consumer -> {
+            try {
+                LOG.debug("streamJobs: Streaming list of job definitions...");
+                query.databaseHelper.streamJobs(
+                    query.partitionId, query.jobId, query.statusType, query.limit, query.offset, query.sortField,
+                    query.sortDirection, query.labelValues, query.filterQuery, query.after, consumer);
+            } catch (Exception e) {
+                LOG.error("Error - ", e);
+                throw e;
+            }
+            LOG.debug("streamJobs: Done.");
+        };
+    }
+
+    private static JobsQuery createQuery(final String partitionId, final String jobId, final String statusType, Integer limit,
+                                         final Integer offset, final String sort, final String labelExists, final String filter,
+                                         final String continuationToken) throws Exception {
+
+        ApiServiceUtil.validatePartitionId(partitionId);
+
+        final SortField sortField;
+        final SortDirection sortDirection;
+
+        if (sort == null) {
+            sortField = DEFAULT_SORT_FIELD;
+            sortDirection = DEFAULT_SORT_DIRECTION;
+
+        } else {
+            final String[] sortParts = sort.split(":", 2);
+            if (sortParts.length != 2) {
+                throw new BadRequestException("Invalid format for sort: " + sort);
+            }
+            if (sortParts[0].startsWith("labels.")) {
+                final String[] labelParts = sortParts[0].split("\\.", 2);
+                if (labelParts[1].isEmpty()) {
+                    throw new BadRequestException("Invalid format for label sort specified");
                 }
-                sortDirection = SortDirection.fromApiValue(sortParts[1]);
-                if (sortDirection == null) {
-                    throw new BadRequestException(
-                        "Invalid value for sort direction: " + sortParts[1]);
+                sortField = new LabelsSortField(labelParts[1]);
+            } else {
+                sortField = JobSortField.fromApiValue(sortParts[0]);
+                if (sortField == null) {
+                    throw new BadRequestException("Invalid value for sort field: " + sort);
                 }
             }
-
-            List<String> labelValues = null;
-            if(labelExists != null && !labelExists.isEmpty()) {
-                final String[] split = labelExists.split(",");
-                labelValues = Arrays.asList(split);
+            sortDirection = SortDirection.fromApiValue(sortParts[1]);
+            if (sortDirection == null) {
+                throw new BadRequestException(
+                    "Invalid value for sort direction: " + sortParts[1]);
             }
+        }
 
-            final String filterQuery = RsqlToSqlUtils.convertToSqlSyntax(filter);
+        List<String> labelValues = null;
+        if(labelExists != null && !labelExists.isEmpty()) {
+            final String[] split = labelExists.split(",");
+            labelValues = Arrays.asList(split);
+        }
 
-            //  Get app config settings.
-            LOG.debug("getJobs: Reading database connection properties...");
-            AppConfig config = AppConfigProvider.getAppConfigProperties();
+        final String filterQuery = RsqlToSqlUtils.convertToSqlSyntax(filter);
 
-            //  Get database helper instance.
-            DatabaseHelper databaseHelper = new DatabaseHelper(config);
+        final ContinuationToken after = continuationToken == null || continuationToken.isEmpty()
+            ? null
+            : ContinuationToken.decode(continuationToken, sortField, sortDirection);
 
-            //  Get list of job definitions in the system.
-            LOG.debug("getJobs: Getting list of job definitions...");
-            if (limit == null || limit <= 0) {
-                limit = config.getDefaultPageSize();
-            }
-            jobs = databaseHelper.getJobs(
-                partitionId, jobId, statusType, limit, offset, sortField, sortDirection, labelValues, filterQuery);
-        } catch (Exception e) {
-            LOG.error("Error - ", e);
-            throw e;
+        //  The offset would be applied after seeking past the previous page, skipping jobs on every page.
+        if (after != null && offset != null && offset > 0) {
+            throw new BadRequestException("The offset parameter cannot be used with the continuationToken parameter");
         }
 
+        //  Get app config settings.
+        LOG.debug("getJobs: Reading database connection properties...");
+        AppConfig config = AppConfigProvider.getAppConfig();
 
-        LOG.debug("getJobs: Done.");
-        return jobs;
+        //  Get database helper instance.
+        DatabaseHelper databaseHelper = new DatabaseHelper(config);
+
+        if (limit == null || limit <= 0) {
+            limit = config.getDefaultPageSize();
+        }
+
+        return new JobsQuery(databaseHelper, partitionId, jobId, statusType, limit, offset, sortField, sortDirection,
+                             labelValues, filterQuery, after);
+    }
+
+    private static final class JobsQuery
+    {
+        final DatabaseHelper databaseHelper;
+        final String partitionId;
+        final String jobId;
+        final String statusType;
+        final Integer limit;
+        final Integer offset;
+        final SortField sortField;
+        final SortDirection sortDirection;
+        final List<String> labelValues;
+        final String filterQuery;
+        final ContinuationToken after;
+
+        JobsQuery(final DatabaseHelper databaseHelper, final String partitionId, final String jobId, final String statusType,
+                  final Integer limit, final Integer offset, final SortField sortField, final SortDirection sortDirection,
+                  final List<String> labelValues, final String filterQuery, final ContinuationToken after)
+        {
+            this.databaseHelper = databaseHelper;
+            this.partitionId = partitionId;
+            this.jobId = jobId;
+            this.statusType = statusType;
+            this.limit = limit;
+            this.offset = offset;
+            this.sortField = sortField;
+            this.sortDirection = sortDirection;
+            this.labelValues = labelValues;
+            this.filterQuery = filterQuery;
+            this.after = after;
+        }
     }
 }
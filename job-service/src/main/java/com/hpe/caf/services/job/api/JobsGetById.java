@@ -55,7 +55,7 @@ public final class JobsGetById {
 
             //  Get app config settings.
             LOG.debug("getJobById: Reading database connection properties...");
-            AppConfig config = AppConfigProvider.getAppConfigProperties();
+            AppConfig config = AppConfigProvider.getAppConfig();
 
             //  Get database helper instance.
             DatabaseHelper databaseHelper = new DatabaseHelper(config);
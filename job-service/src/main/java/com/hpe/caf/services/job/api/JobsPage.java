@@ -0,0 +1,46 @@
+/*
+ * Copyright 2016-2024 Open Text.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hpe.caf.services.job.api;
+
+import com.hpe.caf.services.job.api.generated.model.Job;
+
+/**
+ * A page of a list of jobs.
+ */
+public final class JobsPage
+{
+    private final Job[] jobs;
+    private final ContinuationToken continuationToken;
+
+    public JobsPage(final Job[] jobs, final ContinuationToken continuationToken)
+    {
+        this.jobs = jobs;
+        this.continuationToken = continuationToken;
+    }
+
+    public Job[] getJobs()
+    {
+        return jobs;
+    }
+
+    /**
+     * @return the token to request the next page with, or null if this is the last page
+     */
+    public ContinuationToken getContinuationToken()
+    {
+        return continuationToken;
+    }
+}
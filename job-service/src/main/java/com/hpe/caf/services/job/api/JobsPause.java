@@ -51,7 +51,7 @@ public final class JobsPause {
 
             //  Get app config settings.
             LOG.debug("pause: Reading database connection properties...");
-            AppConfig config = AppConfigProvider.getAppConfigProperties();
+            AppConfig config = AppConfigProvider.getAppConfig();
 
             //  Get database helper instance.
             DatabaseHelper databaseHelper = new DatabaseHelper(config);
@@ -39,6 +39,10 @@ import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -60,6 +64,13 @@ public final class JobsPut {
 
     private static final Pattern LABEL_PATTERN = Pattern.compile("^[a-zA-Z0-9_\\-:]+$");
 
+    private static final ScheduledExecutorService SCHEDULER_TRIGGER_EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "scheduler-trigger");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final AtomicBoolean SCHEDULER_TRIGGER_PENDING = new AtomicBoolean();
+
     /**
      * Creates a new job with the job object provided if the specified job id does not exist. If the job id already exists it updates
      * the existing job.
@@ -163,7 +174,7 @@ public final class JobsPut {
 
             //  Get app config settings.
             LOG.debug("createOrUpdateJob: Reading database and RabbitMQ connection properties...");
-            AppConfig config = AppConfigProvider.getAppConfigProperties();
+            AppConfig config = AppConfigProvider.getAppConfig();
 
             //  Get database helper instance.
             DatabaseHelper databaseHelper = new DatabaseHelper(config);
@@ -212,9 +223,25 @@ public final class JobsPut {
     }
 
     /**
-     * We trigger the scheduler so it will pick up the created job from the database then send a message to the appropriate queue
+     * We trigger the scheduler so it will pick up the created job from the database then send a message to the appropriate queue.
+     * <p>
+     * The trigger is sent after a short delay, and the triggers for any other jobs which are created in the meantime are folded into
+     * it, so that a burst of job submissions only causes the scheduler to poll the database once.
      */
     private static void triggerScheduler(final Codec codec, final AppConfig config)
+    {
+        if (SCHEDULER_TRIGGER_PENDING.compareAndSet(false, true)) {
+            SCHEDULER_TRIGGER_EXECUTOR.schedule(() -> {
+                // Clear the flag first so that a job created while the trigger is being sent causes another trigger
+                SCHEDULER_TRIGGER_PENDING.set(false);
+                sendSchedulerTrigger(codec, config);
+            }, config.getSchedulerTriggerDelayMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            LOG.debug("createOrUpdateJob: Scheduler trigger already pending");
+        }
+    }
+
+    private static void sendSchedulerTrigger(final Codec codec, final AppConfig config)
     {
         try (final QueueServices queueServices = QueueServicesFactory.create(config, config.getSchedulerQueue(), codec)) {
             LOG.debug("createOrUpdateJob: Triggering scheduler to send data to the target queue");
@@ -228,7 +255,12 @@ public final class JobsPut {
                 Collections.emptyMap(),
                 config.getSchedulerQueue());
             final byte[] taskMessageBytes = serializeData(taskMessage, codec);
-            queueServices.publishMessage(taskMessageBytes);
+            // The scheduler also polls periodically, so the request does not need to wait for the broker to confirm the message
+            queueServices.publishMessageAsync(taskMessageBytes).whenComplete((result, ex) -> {
+                if (ex != null) {
+                    LOG.warn("Failed to ping the scheduler {}", ex.getMessage());
+                }
+            });
         } catch (final Exception ex) {
             LOG.warn("Failed to ping the scheduler {}", ex.getMessage());
         }
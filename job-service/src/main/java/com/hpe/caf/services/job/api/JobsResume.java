@@ -71,7 +71,7 @@ public final class JobsResume
 
             //  Get app config settings.
             LOG.debug("Reading database connection properties...");
-            final AppConfig config = AppConfigProvider.getAppConfigProperties();
+            final AppConfig config = AppConfigProvider.getAppConfig();
 
             //  Get database helper instance.
             final DatabaseHelper databaseHelper = new DatabaseHelper(config);
@@ -46,7 +46,7 @@ public final class JobsStatsGetCount {
 
             //  Get app config settings.
             LOG.debug("getJobsCount: Reading database connection properties...");
-            AppConfig config = AppConfigProvider.getAppConfigProperties();
+            AppConfig config = AppConfigProvider.getAppConfig();
 
             //  Get database helper instance.
             DatabaseHelper databaseHelper = new DatabaseHelper(config);
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2016-2024 Open Text.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hpe.caf.services.job.api;
+
+import com.hpe.caf.services.job.api.generated.model.Job;
+
+import java.io.IOException;
+
+/**
+ * A page of a list of jobs which is read from the database as it is written, rather than being held in memory.
+ */
+@FunctionalInterface
+public interface JobsStream
+{
+    /**
+     * Reads the page of jobs, passing each job to the consumer as soon as it has been read.
+     */
+    void forEach(JobConsumer consumer) throws Exception;
+
+    @FunctionalInterface
+    interface JobConsumer
+    {
+        void accept(Job job) throws IOException;
+    }
+}
@@ -19,30 +19,59 @@ import com.hpe.caf.services.job.api.*;
 import com.hpe.caf.services.job.api.generated.model.Job;
 import com.hpe.caf.services.job.api.generated.model.NewJob;
 
+import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.CacheControl;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedHashMap;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import jakarta.ws.rs.core.UriInfo;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Providers;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
 import java.util.Collections;
 import java.util.Map;
 
 public class JobsApiServiceImpl implements JobsApi {
 
-    private final UriInfo uriInfo;
+    private static final String CONTINUATION_TOKEN_HEADER = "Continuation-Token";
+    private static final MediaType NDJSON_TYPE = new MediaType("application", "x-ndjson");
 
-    public JobsApiServiceImpl(@Context final UriInfo uriInfo)
+    private final UriInfo uriInfo;
+    private final HttpHeaders httpHeaders;
+    private final Providers providers;
+
+    public JobsApiServiceImpl(
+        @Context final UriInfo uriInfo,
+        @Context final HttpHeaders httpHeaders,
+        @Context final Providers providers
+    )
     {
         this.uriInfo = uriInfo;
+        this.httpHeaders = httpHeaders;
+        this.providers = providers;
     }
 
     @Override
     public Response getJobs(final String partitionId, final String jobIdStartsWith, final String statusType,
                             final Integer limit, final Integer offset, final String sort,
-                            final String label, final String filter)
+                            final String label, final String filter, final String continuationToken)
             throws Exception {
-        final Job[] jobs = JobsGet.getJobs(partitionId, jobIdStartsWith, statusType, limit, offset, sort, label, filter);
-        return Response.ok().entity(jobs).build();
+        if (isNdjsonPreferred()) {
+            final JobsStream jobs = JobsGet.streamJobs(
+                partitionId, jobIdStartsWith, statusType, limit, offset, sort, label, filter, continuationToken);
+            return Response.ok(writeNdjson(jobs), NDJSON_TYPE).build();
+        }
+        final JobsPage jobs = JobsGet.getJobs(
+            partitionId, jobIdStartsWith, statusType, limit, offset, sort, label, filter, continuationToken);
+        final Response.ResponseBuilder response = Response.ok().entity(jobs.getJobs());
+        if (jobs.getContinuationToken() != null) {
+            response.header(CONTINUATION_TOKEN_HEADER, jobs.getContinuationToken().encode());
+        }
+        return response.build();
     }
 
     @Override
@@ -147,4 +176,38 @@ public class JobsApiServiceImpl implements JobsApi {
     {
         return Response.ok("{\"success\" : true}", MediaType.APPLICATION_JSON).build();
     }
+
+    /**
+     * Checks whether the client prefers newline-delimited JSON, in which case the list of jobs is streamed as it is read.
+     */
+    private boolean isNdjsonPreferred()
+    {
+        final MediaType preferred = httpHeaders.getAcceptableMediaTypes().get(0);
+        return !preferred.isWildcardType() && !preferred.isWildcardSubtype() && preferred.isCompatible(NDJSON_TYPE);
+    }
+
+    /**
+     * Writes each job on its own line, using the same JSON representation as the other responses, and flushes it so that the
+     * client receives it before the rest of the list has been read.
+     */
+    private StreamingOutput writeNdjson(final JobsStream jobs)
+    {
+        final Annotation[] annotations = new Annotation[0];
+        final MessageBodyWriter<Job> jobWriter = providers.getMessageBodyWriter(
+            Job.class, Job.class, annotations, MediaType.APPLICATION_JSON_TYPE);
+        return output -> {
+            try {
+                jobs.forEach(job -> {
+                    jobWriter.writeTo(job, Job.class, Job.class, annotations, MediaType.APPLICATION_JSON_TYPE,
+                                      new MultivaluedHashMap<>(), output);
+                    output.write('\n');
+                    output.flush();
+                });
+            } catch (final IOException | WebApplicationException ex) {
+                throw ex;
+            } catch (final Exception ex) {
+                throw new WebApplicationException(ex);
+            }
+        };
+    }
 }
@@ -36,7 +36,7 @@ public final class JobTypesInitialization
     public static void initialize()
     {
         try {
-            final AppConfig appConfig = AppConfigProvider.getAppConfigProperties();
+            final AppConfig appConfig = AppConfigProvider.getAppConfig();
             final Path dir = appConfig.getJobTypeDefinitionsDir();
             final Loader loader = dir == null ?
                 new NoneLoader() :
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2016-2024 Open Text.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hpe.caf.services.job.queue;
+
+import com.hpe.caf.services.configuration.AppConfig;
+import com.hpe.caf.util.rabbitmq.RabbitUtil;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.security.KeyManagementException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Provides channels to RabbitMQ from a pool which is shared by the whole process.
+ * <p>
+ * The channels are all opened on a single connection, which is opened on first use and is replaced if it is lost. The channels are in
+ * publisher confirm mode (see {@link PublisherChannel}), and at most {@link AppConfig#getRabbitMQChannelPoolMaxSize()} of them are in use at any one time. The
+ * queues which have been found to exist on the current connection are remembered, so that they are only checked once, unless a
+ * message published to one of them is later returned because it could not be routed.
+ */
+public final class QueueConnectionProvider
+{
+    private static final Logger LOG = LoggerFactory.getLogger(QueueConnectionProvider.class);
+
+    private static final BlockingDeque<PublisherChannel> IDLE_CHANNELS = new LinkedBlockingDeque<>();
+    private static final Set<String> VERIFIED_QUEUES = ConcurrentHashMap.newKeySet();
+
+    private static volatile Semaphore channelPermits;
+    private static Connection connection;
+
+    private QueueConnectionProvider()
+    {
+    }
+
+    /**
+     * Takes a channel from the pool, opening a new one (and a new connection if necessary) if there are no idle channels.
+     * <p>
+     * The channel must be given back by calling either {@link #returnChannel} or {@link #discardChannel}.
+     *
+     * @throws TimeoutException if the connection cannot be opened, or if no channel becomes available in time
+     */
+    public static PublisherChannel borrowChannel(final AppConfig appConfig)
+        throws IOException, TimeoutException, InterruptedException, URISyntaxException, NoSuchAlgorithmException,
+               KeyManagementException
+    {
+        final Semaphore permits = getChannelPermits(appConfig);
+        if (!permits.tryAcquire(appConfig.getRabbitMQChannelPoolTimeoutSeconds(), TimeUnit.SECONDS)) {
+            throw new TimeoutException("Timed out waiting for a RabbitMQ channel to become available");
+        }
+        try {
+            for (;;) {
+                final PublisherChannel channel = IDLE_CHANNELS.pollFirst();
+                if (channel == null) {
+                    return createChannel(appConfig);
+                }
+                if (channel.isOpen()) {
+                    return channel;
+                }
+            }
+        } catch (final Exception e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Gives a channel back to the pool so that it can be reused, even if messages published on it are still waiting to be confirmed.
+     */
+    public static void returnChannel(final PublisherChannel channel)
+    {
+        if (channel.isOpen()) {
+            IDLE_CHANNELS.offerFirst(channel);
+        }
+        channelPermits.release();
+    }
+
+    /**
+     * Closes a channel which should not be reused, for example because an operation on it has failed, and frees its place in the
+     * pool.
+     */
+    public static void discardChannel(final PublisherChannel channel)
+    {
+        closeChannel(channel.getChannel());
+        channelPermits.release();
+    }
+
+    /**
+     * Checks that the specified queue exists, unless it has already been found to exist on the current connection.
+     * <p>
+     * If the queue does not exist then the broker closes the channel, so it must be discarded.
+     *
+     * @throws IOException if the queue does not exist
+     */
+    public static void verifyQueueExists(final PublisherChannel channel, final String queueName) throws IOException
+    {
+        if (!VERIFIED_QUEUES.contains(queueName)) {
+            channel.getChannel().queueDeclarePassive(queueName);
+            VERIFIED_QUEUES.add(queueName);
+        }
+    }
+
+    /**
+     * Checks that the shared connection is open, reconnecting if it has been lost, without taking a channel from the pool.
+     * <p>
+     * This is used by the health check, so that it is not held up, or reported as unhealthy, when every channel is in use.
+     *
+     * @return true if the connection is open
+     */
+    public static synchronized boolean isConnectionOpen(final AppConfig appConfig)
+        throws IOException, TimeoutException, URISyntaxException, NoSuchAlgorithmException, KeyManagementException
+    {
+        return getConnection(appConfig).isOpen();
+    }
+
+    /**
+     * Forgets that a queue was found to exist, because a message published to it could not be routed, so that it is checked
+     * again before it is next published to.
+     */
+    private static void forgetQueue(final String queueName)
+    {
+        LOG.warn("A message could not be routed to the {} queue", queueName);
+        VERIFIED_QUEUES.remove(queueName);
+    }
+
+    /**
+     * Closes the idle channels and the connection.
+     */
+    public static synchronized void close()
+    {
+        closeIdleChannels();
+        VERIFIED_QUEUES.clear();
+        if (connection != null) {
+            LOG.debug("Closing RabbitMQ connection...");
+            connection.abort();
+            connection = null;
+        }
+    }
+
+    private static Semaphore getChannelPermits(final AppConfig appConfig)
+    {
+        final Semaphore existing = channelPermits;
+        if (existing != null) {
+            return existing;
+        }
+        synchronized (QueueConnectionProvider.class) {
+            if (channelPermits == null) {
+                channelPermits = new Semaphore(appConfig.getRabbitMQChannelPoolMaxSize());
+            }
+            return channelPermits;
+        }
+    }
+
+    private static synchronized PublisherChannel createChannel(final AppConfig appConfig)
+        throws IOException, TimeoutException, URISyntaxException, NoSuchAlgorithmException, KeyManagementException
+    {
+        final Channel channel = getConnection(appConfig).createChannel();
+        try {
+            // Enable publishing acknowledgements
+            channel.confirmSelect();
+        } catch (final IOException | RuntimeException e) {
+            closeChannel(channel);
+            throw e;
+        }
+        return new PublisherChannel(channel, QueueConnectionProvider::forgetQueue);
+    }
+
+    private static synchronized Connection getConnection(final AppConfig appConfig)
+        throws IOException, TimeoutException, URISyntaxException, NoSuchAlgorithmException, KeyManagementException
+    {
+        if (connection == null || !connection.isOpen()) {
+            if (connection != null) {
+                LOG.warn("RabbitMQ connection has been lost; creating a new connection...");
+                // Stop any automatic recovery of the old connection, as it is being replaced
+                connection.abort();
+                closeIdleChannels();
+                VERIFIED_QUEUES.clear();
+            }
+            LOG.debug("Creating RabbitMQ connection...");
+            connection = createConnection(appConfig);
+        }
+        return connection;
+    }
+
+    private static Connection createConnection(final AppConfig appConfig)
+        throws IOException, TimeoutException, URISyntaxException, NoSuchAlgorithmException, KeyManagementException
+    {
+        try {
+            return RabbitUtil.createRabbitConnection(getRabbitProtocol(appConfig), appConfig.getRabbitMQHost(),
+                    appConfig.getRabbitMQPort(), appConfig.getRabbitMQUsername(), appConfig.getRabbitMQPassword());
+        } catch (final IOException | TimeoutException e) {
+            LOG.warn("Failed to create connection. Will retry", e);
+            return RabbitUtil.createRabbitConnection(getRabbitProtocol(appConfig), appConfig.getRabbitMQHost(),
+                    appConfig.getRabbitMQPort(), appConfig.getRabbitMQUsername(), appConfig.getRabbitMQPassword());
+        }
+    }
+
+    private static String getRabbitProtocol(final AppConfig appConfig)
+    {
+        // Default to 'amqp' if CAF_RABBITMQ_PROTOCOL is not specified
+        final String rabbitProtocol = appConfig.getRabbitMQProtocol();
+        if (null == rabbitProtocol || rabbitProtocol.isEmpty()) {
+            return "amqp";
+        }
+        return rabbitProtocol;
+    }
+
+    private static void closeIdleChannels()
+    {
+        PublisherChannel channel;
+        while ((channel = IDLE_CHANNELS.pollFirst()) != null) {
+            closeChannel(channel.getChannel());
+        }
+    }
+
+    private static void closeChannel(final Channel channel)
+    {
+        if (channel.isOpen()) {
+            try {
+                channel.close();
+            } catch (final IOException | TimeoutException | RuntimeException e) {
+                LOG.warn("Failed to close RabbitMQ channel.", e);
+            }
+        }
+    }
+}
@@ -25,8 +25,6 @@ import com.hpe.caf.api.worker.TrackingInfo;
 import com.hpe.caf.services.job.api.generated.model.WorkerAction;
 import com.hpe.caf.services.configuration.AppConfig;
 import com.hpe.caf.services.job.util.JobTaskId;
-import com.rabbitmq.client.Channel;
-import com.rabbitmq.client.Connection;
 import com.rabbitmq.client.MessageProperties;
 import org.apache.commons.codec.binary.Base64;
 import org.slf4j.Logger;
@@ -35,11 +33,16 @@ import org.slf4j.MDC;
 
 import jakarta.ws.rs.core.UriBuilder;
 import java.io.IOException;
+import java.net.URISyntaxException;
+import java.security.GeneralSecurityException;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Date;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 /**
@@ -48,15 +51,17 @@ import java.util.concurrent.TimeoutException;
 public final class QueueServices implements AutoCloseable {
 
     private static final Logger LOG = LoggerFactory.getLogger(QueueServices.class);
-    private final Connection connection;
-    private final Channel publisherChannel;
+    private final AppConfig configuration;
+    private PublisherChannel publisherChannel;
+    private boolean channelReusable;
     private final String targetQueue;
     private final Codec codec;
 
-    public QueueServices(Connection connection, Channel publisherChannel, String targetQueue, Codec codec) {
+    public QueueServices(AppConfig configuration, PublisherChannel publisherChannel, String targetQueue, Codec codec) {
 
-        this.connection = connection;
+        this.configuration = configuration;
         this.publisherChannel = publisherChannel;
+        this.channelReusable = true;
         this.targetQueue = targetQueue;
         this.codec = codec;
     }
@@ -141,12 +146,55 @@ public final class QueueServices implements AutoCloseable {
         }
     }
 
+    /**
+     * Publishes the message to the target queue and waits for the broker to confirm that it has been accepted.
+     */
     public void publishMessage(final byte[] taskMessageBytes)
             throws IOException, InterruptedException, TimeoutException
     {
-        publisherChannel.basicPublish(
-                "", targetQueue, MessageProperties.PERSISTENT_TEXT_PLAIN, taskMessageBytes);
-        publisherChannel.waitForConfirmsOrDie(10000);
+        final CompletableFuture<Void> confirmation = publishMessageAsync(taskMessageBytes);
+        try {
+            confirmation.get(10000, TimeUnit.MILLISECONDS);
+        } catch (final ExecutionException e) {
+            channelReusable = false;
+            throw new IOException("The message was not confirmed by the broker", e.getCause());
+        } catch (final TimeoutException e) {
+            channelReusable = false;
+            throw e;
+        }
+    }
+
+    /**
+     * Publishes the message to the target queue without waiting for the broker to confirm that it has been accepted.
+     *
+     * @return a future which is completed when the broker confirms the message
+     */
+    public CompletableFuture<Void> publishMessageAsync(final byte[] taskMessageBytes)
+            throws IOException, InterruptedException, TimeoutException
+    {
+        //  A failed publish may have closed the channel, so replace it with another one from the pool before retrying.
+        if (!channelReusable) {
+            replaceChannel();
+        }
+        try {
+            return publisherChannel.publish(targetQueue, MessageProperties.PERSISTENT_TEXT_PLAIN, taskMessageBytes);
+        } catch (final IOException | RuntimeException e) {
+            channelReusable = false;
+            throw e;
+        }
+    }
+
+    private void replaceChannel() throws IOException, InterruptedException, TimeoutException
+    {
+        final PublisherChannel failedChannel = publisherChannel;
+        publisherChannel = null;
+        QueueConnectionProvider.discardChannel(failedChannel);
+        try {
+            publisherChannel = QueueConnectionProvider.borrowChannel(configuration);
+        } catch (final URISyntaxException | GeneralSecurityException e) {
+            throw new IOException("Failed to open a RabbitMQ channel", e);
+        }
+        channelReusable = true;
     }
 
     private static long getStatusCheckIntervalMillis(final String statusCheckIntervalSeconds){
@@ -158,24 +206,19 @@ public final class QueueServices implements AutoCloseable {
     }
 
     /**
-     * Closes the queue connection.
+     * Returns the channel to the pool, or closes it if it may not be safe to reuse.
      */
     @Override
-    public void close() throws Exception {
-        try {
-            //  Close channel.
-            if (publisherChannel != null) {
-                    publisherChannel.close();
-            }
-
-            //  Close connection.
-            if (connection != null) {
-                    connection.close();
-            }
-
-        } catch (IOException | TimeoutException e) {
-            throw new Exception("Failed to close the queuing connection.");
+    public void close() {
+        if (publisherChannel == null) {
+            return;
+        }
+        if (channelReusable) {
+            QueueConnectionProvider.returnChannel(publisherChannel);
+        } else {
+            QueueConnectionProvider.discardChannel(publisherChannel);
         }
+        publisherChannel = null;
     }
 
 }
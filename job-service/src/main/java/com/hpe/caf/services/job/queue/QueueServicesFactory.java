@@ -17,12 +17,6 @@ package com.hpe.caf.services.job.queue;
 
 import com.hpe.caf.api.Codec;
 import com.hpe.caf.services.configuration.AppConfig;
-import com.hpe.caf.util.rabbitmq.RabbitUtil;
-
-import com.rabbitmq.client.Channel;
-import com.rabbitmq.client.Connection;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
@@ -31,50 +25,36 @@ import java.security.NoSuchAlgorithmException;
 import java.util.concurrent.TimeoutException;
 
 /**
- * This class is responsible for creating the RabbitMQ connection and channel.
+ * This class is responsible for providing the RabbitMQ channels which are used to publish messages.
  */
 public final class QueueServicesFactory {
-    private static final Logger LOG = LoggerFactory.getLogger(QueueServicesFactory.class);
 
     /**
      * Create a new QueueServices object.
+     * <p>
+     * The QueueServices object uses a channel from the pool provided by {@link QueueConnectionProvider}, and the channel is returned
+     * to the pool when the object is closed.
      *
      * @param   configuration       the AppConfig
      * @param   targetQueue         the target queue
      * @param   codec               the serialization codec
      * @return  QueueServices       new QueueServices object
-     * @throws  IOException         thrown if the connection cannot be created
-     * @throws  TimeoutException    thrown if the connection cannot be created
+     * @throws  IOException         thrown if the connection cannot be created or the target queue does not exist
+     * @throws  TimeoutException    thrown if the connection cannot be created or no channel is available
      */
     public static QueueServices create(final AppConfig configuration, final String targetQueue, final Codec codec)
-            throws IOException, TimeoutException, URISyntaxException, NoSuchAlgorithmException, KeyManagementException
+            throws IOException, TimeoutException, InterruptedException, URISyntaxException, NoSuchAlgorithmException,
+                   KeyManagementException
     {
-        //  Create connection and channel for publishing messages.
-        Connection connection;
+        final PublisherChannel publishChannel = QueueConnectionProvider.borrowChannel(configuration);
+        //  Check target worker queue exists.
         try {
-            //  Create connection and channel for publishing messages.
-            connection = createConnection(configuration);
-        } catch (final IOException | TimeoutException e) {
-            LOG.warn("Failed to create connection. Will retry", e);
-            connection = createConnection(configuration);
+            QueueConnectionProvider.verifyQueueExists(publishChannel, targetQueue);
+        } catch (final IOException | RuntimeException e) {
+            QueueConnectionProvider.discardChannel(publishChannel);
+            throw e;
         }
 
-        Channel publishChannel = connection.createChannel();
-        // Enable publishing acknowledgements
-        publishChannel.confirmSelect();
-        //  Check target worker queue exists.
-        publishChannel.queueDeclarePassive(targetQueue);
-
-        return new QueueServices(connection, publishChannel, targetQueue, codec);
-    }
-
-    /**
-     * Creates a connection to rabbit messaging server.
-     */
-    private static Connection createConnection(AppConfig configuration)
-            throws IOException, TimeoutException, URISyntaxException, NoSuchAlgorithmException, KeyManagementException
-    {
-        return RabbitUtil.createRabbitConnection(configuration.getRabbitMQProtocol(), configuration.getRabbitMQHost(),
-                configuration.getRabbitMQPort(), configuration.getRabbitMQUsername(), configuration.getRabbitMQPassword());
+        return new QueueServices(configuration, publishChannel, targetQueue, codec);
     }
 }
@@ -106,8 +106,8 @@ public class JobDatabase {
                 jobStatus.setJobId(rs.getString("job_id"));
                 jobStatus.setStatus(JobStatus.valueOf(rs.getString("status")));
                 jobStatus.setPercentageComplete(rs.getFloat("percentage_complete"));
-                jobStatus.setCreateDate(Instant.parse(rs.getString("create_date")));
-                jobStatus.setLastUpdateDate(Instant.parse(rs.getString("last_update_date")));
+                jobStatus.setCreateDate(Instant.ofEpochMilli(rs.getLong("create_date")));
+                jobStatus.setLastUpdateDate(Instant.ofEpochMilli(rs.getLong("last_update_date")));
                 jobStatus.setFailureDetails(rs.getString("failure_details"));
 
             }
@@ -23,19 +23,29 @@ import java.util.Objects;
 
 /**
  * A sorted map of these objects is used in the {@link JobTrackingWorkerFactory} class when processing messages in bulk. This object holds
- * the worker task object (i.e. the message), and the completed task ids that it contains, and also whether or not this is the final entry
- * in the sorted map which contains a reference to this worker task.
+ * the worker task object (i.e. the message), and the completed task ids, progress reports and rejections that it contains for one job,
+ * and also whether or not this is the final entry in the sorted map which contains a reference to this worker task.
  */
 final class CompletedWorkerTaskEntity
 {
     private final WorkerTask workerTask;
     private final List<JobTaskId> completedTaskIds;
+    private final List<JobTaskProgress> progressReports;
+    private final List<JobTaskRejection> rejections;
     private final boolean finalJob;
 
-    public CompletedWorkerTaskEntity(final WorkerTask workerTask, final List<JobTaskId> completedTaskIds, final boolean finalJob)
+    public CompletedWorkerTaskEntity(
+        final WorkerTask workerTask,
+        final List<JobTaskId> completedTaskIds,
+        final List<JobTaskProgress> progressReports,
+        final List<JobTaskRejection> rejections,
+        final boolean finalJob
+    )
     {
         this.workerTask = Objects.requireNonNull(workerTask);
         this.completedTaskIds = Objects.requireNonNull(completedTaskIds);
+        this.progressReports = Objects.requireNonNull(progressReports);
+        this.rejections = Objects.requireNonNull(rejections);
         this.finalJob = finalJob;
     }
 
@@ -49,6 +59,22 @@ final class CompletedWorkerTaskEntity
         return completedTaskIds;
     }
 
+    /**
+     * @return the progress reports, identified by the task ids within the job
+     */
+    public List<JobTaskProgress> getProgressReports()
+    {
+        return progressReports;
+    }
+
+    /**
+     * @return the rejections, identified by the task ids within the job
+     */
+    public List<JobTaskRejection> getRejections()
+    {
+        return rejections;
+    }
+
     public boolean isFinalJob()
     {
         return finalJob;
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2016-2024 Open Text.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hpe.caf.worker.jobtracking;
+
+import java.util.Objects;
+
+/**
+ * The failure and rejection of a job task, held so that it can be reported together with the other rejections for the same job.
+ */
+public final class JobTaskRejection
+{
+    private final String jobTaskId;
+    private final JobTrackingWorkerFailure rejectionDetails;
+
+    public JobTaskRejection(final String jobTaskId, final JobTrackingWorkerFailure rejectionDetails)
+    {
+        this.jobTaskId = Objects.requireNonNull(jobTaskId);
+        this.rejectionDetails = Objects.requireNonNull(rejectionDetails);
+    }
+
+    public String getJobTaskId()
+    {
+        return jobTaskId;
+    }
+
+    public JobTrackingWorkerFailure getRejectionDetails()
+    {
+        return rejectionDetails;
+    }
+}
@@ -31,6 +31,17 @@ public interface JobTrackingReporter {
     void reportJobTaskProgress(final String jobTaskId, final int estimatedPercentageCompleted) throws JobReportingException;
 
 
+    /**
+     * Reports the progress of a list of job tasks to the Job Database.
+     * @param partitionId identifies the partition
+     * @param jobId identifies the job
+     * @param progressReports the progress of the job tasks, identified by their task ids
+     * @throws JobReportingException if a failure occurs in connecting or reporting to a Job Database
+     */
+    void reportJobTasksProgress(final String partitionId, final String jobId,
+                                final List<JobTaskProgress> progressReports) throws JobReportingException;
+
+
     /**
      * Reports the completion of a job task to the Job Database.
      * @param jobTaskId identifies the completed job task
@@ -70,6 +81,17 @@ public interface JobTrackingReporter {
     void reportJobTaskRejected(final String jobTaskId, final JobTrackingWorkerFailure rejectionDetails) throws JobReportingException;
 
 
+    /**
+     * Reports the failure and rejection of a list of job tasks to the Job Database.
+     * @param partitionId identifies the partition
+     * @param jobId identifies the job
+     * @param rejections the failure details of the rejected job tasks, identified by their task ids
+     * @throws JobReportingException if a failure occurs in connecting or reporting to a Job Database
+     */
+    void reportJobTasksRejected(final String partitionId, final String jobId,
+                                final List<JobTaskRejection> rejections) throws JobReportingException;
+
+
     /**
      * Verifies that the Job Database can be contacted.
      * @return true if connection can be established with the Job Database, false otherwise
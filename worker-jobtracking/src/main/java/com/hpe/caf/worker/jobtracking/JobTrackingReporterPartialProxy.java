@@ -20,24 +20,53 @@ import java.util.List;
 
 /**
  * Implements the JobTrackingReporter interface. For most methods this is just a pass-through to an underlying JobTrackingReporter
- * implementation. But for the {@link #reportJobTaskComplete} method it instead adds the task identifier to the supplied list. This is to
- * allow these task ids to be reported in bulk at a later stage.
+ * implementation. But the {@link #reportJobTaskProgress}, {@link #reportJobTaskComplete} and {@link #reportJobTaskRejected} methods
+ * instead add the report to the supplied lists. This is to allow these reports to be made in bulk at a later stage.
  */
 final class JobTrackingReporterPartialProxy implements JobTrackingReporter
 {
     private final JobTrackingReporter reporter;
     private final List<String> completedTaskIds;
+    private final List<JobTaskProgress> progressReports;
+    private final List<JobTaskRejection> rejections;
 
-    public JobTrackingReporterPartialProxy(final JobTrackingReporter reporter, final List<String> completedTaskIds)
+    public JobTrackingReporterPartialProxy(
+        final JobTrackingReporter reporter,
+        final List<String> completedTaskIds,
+        final List<JobTaskProgress> progressReports,
+        final List<JobTaskRejection> rejections
+    )
     {
         this.reporter = reporter;
         this.completedTaskIds = completedTaskIds;
+        this.progressReports = progressReports;
+        this.rejections = rejections;
     }
 
     @Override
     public void reportJobTaskProgress(final String jobTaskId, final int estimatedPercentageCompleted) throws JobReportingException
     {
-        reporter.reportJobTaskProgress(jobTaskId, estimatedPercentageCompleted);
+        // Check that the percentage complete is valid so that the message can be failed on its own
+        if (estimatedPercentageCompleted < 0 || estimatedPercentageCompleted > 100) {
+            throw new JobReportingException("Invalid estimatedPercentageCompleted " + estimatedPercentageCompleted);
+        }
+
+        // Discard zero progress reports
+        if (estimatedPercentageCompleted == 0) {
+            return;
+        }
+
+        progressReports.add(new JobTaskProgress(jobTaskId, estimatedPercentageCompleted));
+    }
+
+    @Override
+    public void reportJobTasksProgress(
+        final String partitionId,
+        final String jobId,
+        final List<JobTaskProgress> progressReports
+    )
+    {
+        throw new UnsupportedOperationException();
     }
 
     @Override
@@ -67,7 +96,17 @@ final class JobTrackingReporterPartialProxy implements JobTrackingReporter
     public void reportJobTaskRejected(final String jobTaskId, final JobTrackingWorkerFailure rejectionDetails)
         throws JobReportingException
     {
-        reporter.reportJobTaskRejected(jobTaskId, rejectionDetails);
+        rejections.add(new JobTaskRejection(jobTaskId, rejectionDetails));
+    }
+
+    @Override
+    public void reportJobTasksRejected(
+        final String partitionId,
+        final String jobId,
+        final List<JobTaskRejection> rejections
+    )
+    {
+        throw new UnsupportedOperationException();
     }
 
     @Override
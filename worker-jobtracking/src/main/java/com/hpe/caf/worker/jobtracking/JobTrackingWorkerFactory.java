@@ -33,12 +33,16 @@ import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -61,6 +65,7 @@ public class JobTrackingWorkerFactory implements WorkerFactory, TaskMessageForwa
     private final JobTrackingWorkerConfiguration configuration;
     private final Codec codec;
     private final Class<JobTrackingWorkerTask> taskClass;
+    private final JobTrackingWorkerMetrics metrics;
 
     @NotNull
     private JobTrackingReporter reporter;
@@ -79,6 +84,8 @@ public class JobTrackingWorkerFactory implements WorkerFactory, TaskMessageForwa
             throw new WorkerException("Failed to create worker factory", e);
         }
         this.reporter = createReporter();
+        this.metrics = new JobTrackingWorkerMetrics();
+        this.metrics.register();
     }
 
     /**
@@ -95,6 +102,7 @@ public class JobTrackingWorkerFactory implements WorkerFactory, TaskMessageForwa
             throw new WorkerException("Failed to create worker factory", e);
         }
         this.reporter = reporter;
+        this.metrics = new JobTrackingWorkerMetrics();
     }
 
     @Override
@@ -226,6 +234,25 @@ public class JobTrackingWorkerFactory implements WorkerFactory, TaskMessageForwa
         return configuration.getThreads();
     }
 
+    JobTrackingWorkerMetrics getMetrics()
+    {
+        return metrics;
+    }
+
+    /**
+     * Releases the Job Database connections held by the reporter.
+     */
+    @Override
+    public void shutdown() {
+        if (reporter instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) reporter).close();
+            } catch (final Exception e) {
+                LOG.warn("Failed to close Job Database reporter. ", e);
+            }
+        }
+    }
+
     /**
      * Health check which returns healthy if the Job Tracking Worker components are available.
      * @return healthCheck result
@@ -359,7 +386,7 @@ public class JobTrackingWorkerFactory implements WorkerFactory, TaskMessageForwa
      */
     private JobTrackingReporter createReporter() throws TaskRejectedException {
         try {
-            return new JobTrackingWorkerReporter();
+            return new JobTrackingWorkerReporter(configuration.getThreads());
         } catch (JobReportingException e) {
             throw new TaskRejectedException("Failed to create Job Database reporter for Job Tracking Worker. ", e);
         }
@@ -427,12 +454,12 @@ public class JobTrackingWorkerFactory implements WorkerFactory, TaskMessageForwa
         final long maxBatchTime = JobTrackingWorkerUtil.getMaxBatchTime();
         final long cutoffTime = System.currentTimeMillis() + maxBatchTime;
 
-        // Create a collection to hold the completed tasks in the tracking report messages (i.e. those which have TrackingReportTask as
-        // their task classifier).  Rather than processing these immediately we are storing them here so that we can process them
-        // together.  We are holding them in a TreeMap so that they are processed in a consistent order.  If a tracking report message
-        // contains completed reports from multiple jobs then obviously it will result in multiple entities being added or updated in the
-        // sorted map.  The last entry to be added or updated in the map will have the finalJob flag set on it, so that when the completed
-        // tasks are being processed (in job order) that we know that that is the point at which the message can be acknowledged.
+        // Create a collection to hold the completed tasks, progress reports and rejections in the tracking report messages (i.e. those
+        // which have TrackingReportTask as their task classifier).  Rather than processing these immediately we are storing them here so
+        // that we can process them together.  We are holding them in a TreeMap so that they are processed in a consistent order.  If a
+        // tracking report message contains reports from multiple jobs then obviously it will result in multiple entities being added or
+        // updated in the sorted map.  The last entry to be added or updated in the map will have the finalJob flag set on it, so that when the reports
+        // are being processed (in job order) that we know that that is the point at which the message can be acknowledged.
         final TreeMap<FullyQualifiedJobId, List<CompletedWorkerTaskEntity>> bulkItemList = new TreeMap<>();
 
         for (;;) {
@@ -461,8 +488,8 @@ public class JobTrackingWorkerFactory implements WorkerFactory, TaskMessageForwa
 
         LOG.info("Size of bulkItemList: {}", bulkItemList.size());
 
-        // Process the completed TrackingReports
-        processCompletedTrackingReports(bulkItemList);
+        // Process the TrackingReports
+        processTrackingReports(bulkItemList);
     }
 
     /**
@@ -496,9 +523,12 @@ public class JobTrackingWorkerFactory implements WorkerFactory, TaskMessageForwa
     {
         final TrackingReportTask trackingWorkerTask = getTrackingReportTask(workerTask);
 
-        // List containing the stripped task ids to be incremented for bulk update in db
+        // Lists containing the reports to be made in bulk to the db, identified by the task ids from the message
         final List<String> completedTaskIds = new ArrayList<>();
-        final JobTrackingReporterPartialProxy reporterProxy = new JobTrackingReporterPartialProxy(reporter, completedTaskIds);
+        final List<JobTaskProgress> progressReports = new ArrayList<>();
+        final List<JobTaskRejection> rejections = new ArrayList<>();
+        final JobTrackingReporterPartialProxy reporterProxy
+            = new JobTrackingReporterPartialProxy(reporter, completedTaskIds, progressReports, rejections);
 
         final JobTrackingReportUpdateWorker messageProcessor = new JobTrackingReportUpdateWorker(
             trackingWorkerTask,
@@ -509,46 +539,67 @@ public class JobTrackingWorkerFactory implements WorkerFactory, TaskMessageForwa
 
         final WorkerResponse messageResponse = messageProcessor.doWork();
 
-        if (messageResponse.getTaskStatus() != TaskStatus.RESULT_SUCCESS || completedTaskIds.isEmpty()) {
+        if (messageResponse.getTaskStatus() != TaskStatus.RESULT_SUCCESS
+            || (completedTaskIds.isEmpty() && progressReports.isEmpty() && rejections.isEmpty())) {
             workerTask.setResponse(messageResponse);
         } else {
-            final TreeMap<FullyQualifiedJobId, List<JobTaskId>> taskIdsGrouped = completedTaskIds.stream()
+            final TreeMap<FullyQualifiedJobId, List<JobTaskId>> completedTaskIdsGrouped = completedTaskIds.stream()
                 .map(JobTaskId::fromMessageId)
                 .collect(Collectors.groupingBy(
                     taskId -> new FullyQualifiedJobId(taskId.getPartitionId(), taskId.getJobId()), TreeMap::new, Collectors.toList()));
 
-            final Iterator<Map.Entry<FullyQualifiedJobId, List<JobTaskId>>> entryIterator
-                = taskIdsGrouped.entrySet().iterator();
+            final TreeMap<FullyQualifiedJobId, List<JobTaskProgress>> progressReportsGrouped = new TreeMap<>();
+            for (final JobTaskProgress progress : progressReports) {
+                final JobTaskId taskId = JobTaskId.fromMessageId(progress.getJobTaskId());
+                progressReportsGrouped
+                    .computeIfAbsent(new FullyQualifiedJobId(taskId.getPartitionId(), taskId.getJobId()), key -> new ArrayList<>())
+                    .add(new JobTaskProgress(taskId.getId(), progress.getEstimatedPercentageCompleted()));
+            }
+
+            final TreeMap<FullyQualifiedJobId, List<JobTaskRejection>> rejectionsGrouped = new TreeMap<>();
+            for (final JobTaskRejection rejection : rejections) {
+                final JobTaskId taskId = JobTaskId.fromMessageId(rejection.getJobTaskId());
+                rejectionsGrouped
+                    .computeIfAbsent(new FullyQualifiedJobId(taskId.getPartitionId(), taskId.getJobId()), key -> new ArrayList<>())
+                    .add(new JobTaskRejection(taskId.getId(), rejection.getRejectionDetails()));
+            }
+
+            final TreeSet<FullyQualifiedJobId> jobIds = new TreeSet<>(completedTaskIdsGrouped.keySet());
+            jobIds.addAll(progressReportsGrouped.keySet());
+            jobIds.addAll(rejectionsGrouped.keySet());
+
+            final Iterator<FullyQualifiedJobId> jobIdIterator = jobIds.iterator();
 
             boolean isNotFinalJob;
             do {
-                final Map.Entry<FullyQualifiedJobId, List<JobTaskId>> entry = entryIterator.next();
-                isNotFinalJob = entryIterator.hasNext();
-
-                mergeIntoBulkItemList(bulkItemList, workerTask, entry.getKey(), entry.getValue(), !isNotFinalJob);
+                final FullyQualifiedJobId jobId = jobIdIterator.next();
+                isNotFinalJob = jobIdIterator.hasNext();
+
+                mergeIntoBulkItemList(bulkItemList, jobId, new CompletedWorkerTaskEntity(
+                    workerTask,
+                    completedTaskIdsGrouped.getOrDefault(jobId, Collections.emptyList()),
+                    progressReportsGrouped.getOrDefault(jobId, Collections.emptyList()),
+                    rejectionsGrouped.getOrDefault(jobId, Collections.emptyList()),
+                    !isNotFinalJob));
             } while (isNotFinalJob);
         }
     }
 
     /**
      *
-     * @param workerTask provides access onto Worker Task Data and ability to set response
      * @param bulkItemList the lists of workerTaskEntities ordered by FullyQualifiedJobId (partition and jobId)
      * @param jobId id of the job
-     * @param taskIds list of completed tasks ids belonging to the job
-     * @param isFinalJob true if this is the final job that this worker task contains completed task ids for
+     * @param workerTaskEntity the reports that the worker task contains for the job
      */
     private static void mergeIntoBulkItemList(
         final TreeMap<FullyQualifiedJobId, List<CompletedWorkerTaskEntity>> bulkItemList,
-        final WorkerTask workerTask,
         final FullyQualifiedJobId jobId,
-        final List<JobTaskId> taskIds,
-        final boolean isFinalJob
+        final CompletedWorkerTaskEntity workerTaskEntity
     )
     {
         bulkItemList.merge(
             jobId,
-            Collections.singletonList(new CompletedWorkerTaskEntity(workerTask, taskIds, isFinalJob)),
+            Collections.singletonList(workerTaskEntity),
             (existingList, newList) -> {
                 // Assert that the existing list contains elements
                 assert (existingList != null && !existingList.isEmpty());
@@ -575,32 +626,78 @@ public class JobTrackingWorkerFactory implements WorkerFactory, TaskMessageForwa
     }
 
     /**
-     * Processes the completed tracking reports by reporting them to the database, then sets the response to the related workerTask and
-     * triggers the related job dependencies.
+     * Processes the tracking reports by reporting them to the database, then sets the response to the related workerTask and triggers
+     * the related job dependencies.
+     * <p>
+     * The progress reports, rejections and completions for each job are each made in a single call to the database. Progress reports
+     * which are superseded by a later report in the same batch are not made at all.
+     * <p>
+     * If the progress reports or rejections for a job cannot be made, other than because of a transient error, then they are made
+     * again separately for each message, so that only the messages whose reports are at fault are failed. Those messages are failed
+     * straight away, and nothing more is reported from them for the later jobs; the other messages and jobs carry on as normal.
      *
      * @param bulkItemList the lists of workerTaskEntities ordered by FullyQualifiedJobId (partition and jobId)
      */
-    private void processCompletedTrackingReports(final TreeMap<FullyQualifiedJobId, List<CompletedWorkerTaskEntity>> bulkItemList)
+    private void processTrackingReports(final TreeMap<FullyQualifiedJobId, List<CompletedWorkerTaskEntity>> bulkItemList)
     {
         // Process the jobs in the same order that they were added so that the finalJob flag is correct
         final Iterator<Map.Entry<FullyQualifiedJobId, List<CompletedWorkerTaskEntity>>> iterator = bulkItemList.entrySet().iterator();
 
+        // The messages which have already been failed, and so must not be given another response
+        final Set<WorkerTask> failedWorkerTasks = Collections.newSetFromMap(new IdentityHashMap<>());
+
         while (iterator.hasNext()) {
             final Map.Entry<FullyQualifiedJobId, List<CompletedWorkerTaskEntity>> entry = iterator.next();
 
             final FullyQualifiedJobId jobId = entry.getKey();
             LOG.debug("partition: {}; job: {}", jobId.getPartitionId(), jobId.getJobId());
 
-            final List<CompletedWorkerTaskEntity> workerTaskEntities = entry.getValue();
+            final List<CompletedWorkerTaskEntity> workerTaskEntities = failedWorkerTasks.isEmpty()
+                ? entry.getValue()
+                : entry.getValue().stream()
+                    .filter(workerTaskObj -> !failedWorkerTasks.contains(workerTaskObj.getWorkerTask()))
+                    .collect(Collectors.toList());
+            if (workerTaskEntities.isEmpty()) {
+                continue;
+            }
+
+            final List<JobTaskProgress> allProgressReports = workerTaskEntities.stream()
+                .flatMap(workerTaskObj -> workerTaskObj.getProgressReports().stream())
+                .collect(Collectors.toList());
 
-            final List<String> taskIds = workerTaskEntities.stream()
-                .flatMap(workerTaskObj -> workerTaskObj.getCompletedTaskIds().stream().map(JobTaskId::getId))
+            final List<JobTaskRejection> rejections = workerTaskEntities.stream()
+                .flatMap(workerTaskObj -> workerTaskObj.getRejections().stream())
                 .collect(Collectors.toList());
 
-            // Actually process the list (make the call to the database)
+            final List<String> allTaskIds = getCompletedTaskIds(workerTaskEntities);
+
+            final List<JobTaskProgress> progressReports = coalesceProgressReports(allProgressReports, rejections, allTaskIds);
+            final int coalescedCount = allProgressReports.size() - progressReports.size();
+            if (coalescedCount > 0) {
+                LOG.debug("Skipping {} superseded progress reports", coalescedCount);
+                metrics.addCoalescedProgressReports(coalescedCount);
+            }
+
+            // Actually process the lists (make the calls to the database)
+            // Progress is reported first and completions last, which is the order in which they would normally have been sent
             final List<JobTrackingWorkerDependency> jobDependencyList;
+            List<String> taskIds = allTaskIds;
             try {
-                jobDependencyList = reporter.reportJobTasksComplete(jobId.getPartitionId(), jobId.getJobId(), taskIds);
+                try {
+                    reportProgressAndRejections(jobId, progressReports, rejections);
+                } catch (final JobReportingTransientException ex) {
+                    throw ex;
+                } catch (final JobReportingException ex) {
+                    LOG.warn("Failed to report progress or failures for partition: {}; job: {}. Reporting them for each message.",
+                             jobId.getPartitionId(), jobId.getJobId(), ex);
+                    reportProgressAndRejectionsForEachWorkerTask(jobId, workerTaskEntities, failedWorkerTasks);
+                    taskIds = getCompletedTaskIds(workerTaskEntities.stream()
+                        .filter(workerTaskObj -> !failedWorkerTasks.contains(workerTaskObj.getWorkerTask()))
+                        .collect(Collectors.toList()));
+                }
+                jobDependencyList = taskIds.isEmpty()
+                    ? Collections.<JobTrackingWorkerDependency>emptyList()
+                    : reporter.reportJobTasksComplete(jobId.getPartitionId(), jobId.getJobId(), taskIds);
             } catch (final JobReportingTransientException ex) {
                 // Get the message to include in the transient response
                 final String failureMessage = ex.getMessage();
@@ -609,6 +706,7 @@ public class JobTrackingWorkerFactory implements WorkerFactory, TaskMessageForwa
                 failRemainingCompletedTrackingReports(
                     workerTaskEntities,
                     iterator,
+                    failedWorkerTasks,
                     workerTask -> setWorkerResultTransientFailure(workerTask, failureMessage));
 
                 return;
@@ -620,6 +718,7 @@ public class JobTrackingWorkerFactory implements WorkerFactory, TaskMessageForwa
                 failRemainingCompletedTrackingReports(
                     workerTaskEntities,
                     iterator,
+                    failedWorkerTasks,
                     workerTask -> setWorkerResultFailure(workerTask, failureData));
 
                 return;
@@ -627,8 +726,13 @@ public class JobTrackingWorkerFactory implements WorkerFactory, TaskMessageForwa
 
             // The database function may return dependencies that are now eligable to be started
             if (jobDependencyList != null && !jobDependencyList.isEmpty()) {
-                // Any of the worker tasks can be used for creating the dependencies so we'll just pick the first one
-                final WorkerTask workerTask = workerTaskEntities.get(0).getWorkerTask();
+                // Any of the worker tasks which have not been failed can be used for creating the dependencies so we'll just pick the
+                // first one (there is one, as the dependencies are only returned for completions reported from such tasks)
+                final WorkerTask workerTask = workerTaskEntities.stream()
+                    .map(CompletedWorkerTaskEntity::getWorkerTask)
+                    .filter(task -> !failedWorkerTasks.contains(task))
+                    .findFirst()
+                    .get();
 
                 // For each dependent job, create a TaskMessage object and publish to the messaging queue
                 for (final JobTrackingWorkerDependency dependency : jobDependencyList) {
@@ -643,18 +747,111 @@ public class JobTrackingWorkerFactory implements WorkerFactory, TaskMessageForwa
             workerTaskEntities.stream()
                 .filter(CompletedWorkerTaskEntity::isFinalJob)
                 .map(CompletedWorkerTaskEntity::getWorkerTask)
+                .filter(workerTask -> !failedWorkerTasks.contains(workerTask))
                 .forEach(JobTrackingWorkerFactory::setWorkerResultSuccess);
         }
     }
 
+    private static List<String> getCompletedTaskIds(final List<CompletedWorkerTaskEntity> workerTaskEntities)
+    {
+        return workerTaskEntities.stream()
+            .flatMap(workerTaskObj -> workerTaskObj.getCompletedTaskIds().stream().map(JobTaskId::getId))
+            .collect(Collectors.toList());
+    }
+
+    private void reportProgressAndRejections(
+        final FullyQualifiedJobId jobId,
+        final List<JobTaskProgress> progressReports,
+        final List<JobTaskRejection> rejections
+    ) throws JobReportingException
+    {
+        if (!progressReports.isEmpty()) {
+            reporter.reportJobTasksProgress(jobId.getPartitionId(), jobId.getJobId(), progressReports);
+        }
+        if (!rejections.isEmpty()) {
+            reporter.reportJobTasksRejected(jobId.getPartitionId(), jobId.getJobId(), rejections);
+        }
+    }
+
+    /**
+     * Reports the progress reports and rejections for a job separately for each message, after they could not all be reported
+     * together, and fails the messages whose reports cannot be made.
+     *
+     * @param jobId id of the job
+     * @param workerTaskEntities the reports that each message contains for the job
+     * @param failedWorkerTasks the messages which have been failed, which is added to
+     * @throws JobReportingTransientException if the reports could not be made because of a transient error
+     */
+    private void reportProgressAndRejectionsForEachWorkerTask(
+        final FullyQualifiedJobId jobId,
+        final List<CompletedWorkerTaskEntity> workerTaskEntities,
+        final Set<WorkerTask> failedWorkerTasks
+    ) throws JobReportingTransientException
+    {
+        for (final CompletedWorkerTaskEntity workerTaskObj : workerTaskEntities) {
+            final List<JobTaskProgress> progressReports = coalesceProgressReports(
+                workerTaskObj.getProgressReports(),
+                workerTaskObj.getRejections(),
+                getCompletedTaskIds(Collections.singletonList(workerTaskObj)));
+            try {
+                reportProgressAndRejections(jobId, progressReports, workerTaskObj.getRejections());
+            } catch (final JobReportingTransientException ex) {
+                throw ex;
+            } catch (final JobReportingException ex) {
+                LOG.warn("Error reporting task progress to the Job Database: ", ex);
+                final WorkerTask workerTask = workerTaskObj.getWorkerTask();
+                setWorkerResultFailure(workerTask, getFailureData(ex));
+                failedWorkerTasks.add(workerTask);
+            }
+        }
+    }
+
+    /**
+     * Removes the progress reports which are superseded by other reports for the same job in the same batch.
+     * <p>
+     * Only the latest progress report is kept for each task, and none are kept for tasks which are also being reported as complete or
+     * as failed, since those reports are made afterwards and would overwrite the progress anyway.
+     *
+     * @param progressReports the progress reports, in the order that they were received
+     * @param rejections the tasks which are being reported as failed
+     * @param completedTaskIds the tasks which are being reported as complete
+     * @return the progress reports which still need to be made
+     */
+    static List<JobTaskProgress> coalesceProgressReports(
+        final List<JobTaskProgress> progressReports,
+        final List<JobTaskRejection> rejections,
+        final List<String> completedTaskIds
+    )
+    {
+        if (progressReports.isEmpty()) {
+            return progressReports;
+        }
+
+        final Set<String> finishedTaskIds = new HashSet<>(completedTaskIds);
+        rejections.forEach(rejection -> finishedTaskIds.add(rejection.getJobTaskId()));
+
+        final Map<String, JobTaskProgress> latestProgressReports = new LinkedHashMap<>();
+        for (final JobTaskProgress progressReport : progressReports) {
+            final String jobTaskId = progressReport.getJobTaskId();
+            if (!finishedTaskIds.contains(jobTaskId)) {
+                latestProgressReports.put(jobTaskId, progressReport);
+            }
+        }
+
+        return latestProgressReports.size() == progressReports.size()
+            ? progressReports
+            : new ArrayList<>(latestProgressReports.values());
+    }
+
     /**
      * Utility function to be used when there is a failure from the database.<br>
      * Executes the specified failure action for the current tasks specified, and for all other tasks that can be retrieved from the
-     * iterator.
+     * iterator, other than those which have already been failed.
      */
     private static void failRemainingCompletedTrackingReports(
         final List<CompletedWorkerTaskEntity> currentFailedWorkerTasks,
         final Iterator<Map.Entry<FullyQualifiedJobId, List<CompletedWorkerTaskEntity>>> bulkItemListIterator,
+        final Set<WorkerTask> alreadyFailedWorkerTasks,
         final Consumer<WorkerTask> failureAction
     )
     {
@@ -664,6 +861,7 @@ public class JobTrackingWorkerFactory implements WorkerFactory, TaskMessageForwa
             failedWorkerTasks.stream()
                 .filter(CompletedWorkerTaskEntity::isFinalJob)
                 .map(CompletedWorkerTaskEntity::getWorkerTask)
+                .filter(workerTask -> !alreadyFailedWorkerTasks.contains(workerTask))
                 .forEach(failureAction);
 
             if (!bulkItemListIterator.hasNext()) {
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2016-2024 Open Text.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hpe.caf.worker.jobtracking;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Metrics recorded by the Job Tracking Worker.
+ */
+public final class JobTrackingWorkerMetrics implements JobTrackingWorkerMetricsMXBean
+{
+    private static final Logger LOG = LoggerFactory.getLogger(JobTrackingWorkerMetrics.class);
+
+    private static final String OBJECT_NAME = "com.hpe.caf.worker.jobtracking:type=JobTrackingWorkerMetrics";
+
+    private final AtomicLong coalescedProgressReports = new AtomicLong();
+
+    /**
+     * Registers the metrics with the platform MBean server so that they can be monitored over JMX.
+     */
+    public void register()
+    {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (final JMException e) {
+            LOG.warn("Failed to register the job tracking worker metrics.", e);
+        }
+    }
+
+    @Override
+    public long getCoalescedProgressReports()
+    {
+        return coalescedProgressReports.get();
+    }
+
+    public void addCoalescedProgressReports(final long count)
+    {
+        coalescedProgressReports.addAndGet(count);
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2016-2024 Open Text.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hpe.caf.worker.jobtracking;
+
+/**
+ * Management interface exposing the Job Tracking Worker metrics over JMX.
+ */
+public interface JobTrackingWorkerMetricsMXBean
+{
+    /**
+     * @return the number of progress reports which were not written to the Job Database because they were superseded by a later
+     *         report for the same task in the same batch
+     */
+    long getCoalescedProgressReports();
+}
@@ -18,6 +18,9 @@ package com.hpe.caf.worker.jobtracking;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hpe.caf.services.job.util.JobTaskId;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import org.postgresql.ds.PGSimpleDataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,24 +32,34 @@ import java.text.DateFormat;
 import java.text.MessageFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Implementation of job reporting to a job-tracking Job Database, specifically supporting only JDBC/PostgreSQL connections.
+ * <p>
+ * Connections are taken from a bounded pool which is shared by all of the worker threads.
  */
-public class JobTrackingWorkerReporter implements JobTrackingReporter {
+public class JobTrackingWorkerReporter implements JobTrackingReporter, AutoCloseable {
 
     private static final String FAILED_TO_CONNECT = "Failed to connect to database {}. ";
     private static final String FAILED_TO_CONNECT_INVALID_PORT = "Failed to connect to database {}. Invalid port {}";
     private static final String FAILED_TO_REPORT_COMPLETION = "Failed to report the completion of job task {0}. {1}";
     private static final String FAILED_TO_REPORT_COMPLETIONS = "Failed to report the completion of job tasks {0}. {1}";
     private static final String FAILED_TO_REPORT_PROGRESS = "Failed to report the progress of job task {0}. {1} {2}";
+    private static final String FAILED_TO_REPORT_PROGRESSES = "Failed to report the progress of job tasks {0}. {1}";
     private static final String FAILED_TO_REPORT_REJECTION = "Failed to report the failure and rejection of job task {0}. {1}";
+    private static final String FAILED_TO_REPORT_REJECTIONS = "Failed to report the failure and rejection of job tasks {0}. {1}";
 
     private static final String POSTGRES_OPERATOR_FAILURE_CODE_PREFIX = "57";
     private static final String POSTGRES_UNABLE_TO_EXECUTE_READ_ONLY_TRANSACTION_FAILURE_CODE = "25006";
+    private static final String POSTGRES_CONNECTION_EXCEPTION_CODE_PREFIX = "08";
+    private static final String POSTGRES_INSUFFICIENT_RESOURCES_CODE_PREFIX = "53";
+
+    private static final String POOL_NAME = "job-tracking-db";
 
     private static final Logger LOG = LoggerFactory.getLogger(JobTrackingWorkerReporter.class);
 
@@ -88,8 +101,19 @@ public class JobTrackingWorkerReporter implements JobTrackingReporter {
      */
     private String appName;
 
+    /**
+     * The pool of connections to the Job Database.
+     */
+    private final HikariDataSource dataSource;
+
 
-    public JobTrackingWorkerReporter() throws JobReportingException {
+    /**
+     * Creates a reporter whose connection pool is sized for the specified number of worker threads.
+     *
+     * @param workerThreads the number of worker threads which share the reporter
+     * @throws JobReportingException if the connection pool cannot be configured
+     */
+    public JobTrackingWorkerReporter(final int workerThreads) throws JobReportingException {
         this.jobDatabaseHost = Objects.requireNonNull(JobDatabaseProperties.getDatabaseHost()).toLowerCase(Locale.ENGLISH);
         this.jobDatabasePortString = Objects.requireNonNull(JobDatabaseProperties.getDatabasePort()).toLowerCase(Locale.ENGLISH);
         this.jobDatabaseName = Objects.requireNonNull(JobDatabaseProperties.getDatabaseName()).toLowerCase(Locale.ENGLISH);
@@ -97,6 +121,7 @@ public class JobTrackingWorkerReporter implements JobTrackingReporter {
                              : "Job Tracking Worker";
         this.jobDatabaseUsername = Objects.requireNonNull(JobDatabaseProperties.getDatabaseUsername());
         this.jobDatabasePassword = Objects.requireNonNull(JobDatabaseProperties.getDatabasePassword());
+        this.dataSource = createDataSource(workerThreads);
     }
 
     /**
@@ -132,6 +157,9 @@ public class JobTrackingWorkerReporter implements JobTrackingReporter {
                 stmt.setDouble(3, estimatedPercentageCompleted);
 
                 stmt.execute();
+            } catch (final SQLException ex) {
+                evictIfTransient(conn, ex);
+                throw ex;
             }
         } catch (final SQLTransientException te) {
             throw new JobReportingTransientException(
@@ -147,6 +175,57 @@ public class JobTrackingWorkerReporter implements JobTrackingReporter {
         }
     }
 
+    /**
+     * Reports the percentage completed of the specified tasks of a job.
+     *
+     * @param partitionId identifies the partition
+     * @param jobId identifies the job
+     * @param progressReports the progress of the job tasks, identified by their task ids
+     * @throws JobReportingException if a failure occurs in connecting or reporting to a Job Database
+     */
+    @Override
+    public void reportJobTasksProgress(
+        final String partitionId,
+        final String jobId,
+        final List<JobTaskProgress> progressReports
+    ) throws JobReportingException
+    {
+        LOG.debug("Reporting bulk progress: Partition: {}; Job: {}; Tasks: {}", partitionId, jobId, progressReports.size());
+
+        final String[] taskIds = new String[progressReports.size()];
+        final Double[] percentagesCompleted = new Double[progressReports.size()];
+        for (int i = 0; i < taskIds.length; i++) {
+            final JobTaskProgress progress = progressReports.get(i);
+            taskIds[i] = progress.getJobTaskId();
+            percentagesCompleted[i] = (double) progress.getEstimatedPercentageCompleted();
+        }
+
+        try (final Connection conn = getConnection()) {
+            try (final CallableStatement stmt = conn.prepareCall("{call report_progress_bulk(?,?,?,?)}")) {
+                stmt.setString(1, partitionId);
+                stmt.setString(2, jobId);
+                stmt.setArray(3, conn.createArrayOf("varchar", taskIds));
+                stmt.setArray(4, conn.createArrayOf("float8", percentagesCompleted));
+
+                stmt.execute();
+            } catch (final SQLException ex) {
+                evictIfTransient(conn, ex);
+                throw ex;
+            }
+        } catch (final SQLTransientException te) {
+            throw new JobReportingTransientException(
+                MessageFormat.format(FAILED_TO_REPORT_PROGRESSES, Arrays.toString(taskIds), te.getMessage()), te);
+        } catch (final SQLException se) {
+            if (isSqlStateIn(se, POSTGRES_UNABLE_TO_EXECUTE_READ_ONLY_TRANSACTION_FAILURE_CODE,
+                             POSTGRES_OPERATOR_FAILURE_CODE_PREFIX)) {
+                throw new JobReportingTransientException(
+                    MessageFormat.format(FAILED_TO_REPORT_PROGRESSES, Arrays.toString(taskIds), se.getMessage()), se);
+            }
+            throw new JobReportingException(
+                MessageFormat.format(FAILED_TO_REPORT_PROGRESSES, Arrays.toString(taskIds), se.getMessage()), se);
+        }
+    }
+
     /**
      * Reports the specified job task as complete.
      *
@@ -167,6 +246,9 @@ public class JobTrackingWorkerReporter implements JobTrackingReporter {
                 stmt.setString(2, jobTaskIdObj.getId());
 
                 return executeToJobDependencyList(stmt);
+            } catch (final SQLException ex) {
+                evictIfTransient(conn, ex);
+                throw ex;
             }
         } catch (final SQLTransientException te) {
             throw new JobReportingTransientException(
@@ -209,6 +291,9 @@ public class JobTrackingWorkerReporter implements JobTrackingReporter {
                 stmt.setArray(3, jobIdsArray);
 
                 return executeToJobDependencyList(stmt);
+            } catch (final SQLException ex) {
+                evictIfTransient(conn, ex);
+                throw ex;
             }
         } catch (final SQLTransientException te) {
             throw new JobReportingTransientException(
@@ -284,6 +369,9 @@ public class JobTrackingWorkerReporter implements JobTrackingReporter {
                 stmt.setString(2, jobTaskIdObj.getId());
                 stmt.setString(3, failureDetails);
                 stmt.execute();
+            } catch (final SQLException ex) {
+                evictIfTransient(conn, ex);
+                throw ex;
             }
         } catch (final SQLTransientException te) {
             throw new JobReportingTransientException(
@@ -299,28 +387,95 @@ public class JobTrackingWorkerReporter implements JobTrackingReporter {
         }
     }
 
+    /**
+     * Reports the specified tasks of a job as rejected tasks.
+     *
+     * @param partitionId identifies the partition
+     * @param jobId identifies the job
+     * @param rejections the failure details of the rejected job tasks, identified by their task ids
+     * @throws JobReportingException if a failure occurs in connecting or reporting to a Job Database
+     */
+    @Override
+    public void reportJobTasksRejected(
+        final String partitionId,
+        final String jobId,
+        final List<JobTaskRejection> rejections
+    ) throws JobReportingException
+    {
+        LOG.info(Thread.currentThread() + ": Reporting failure of {} tasks of job {} ...", rejections.size(), jobId);
+
+        final String[] taskIds = new String[rejections.size()];
+        final String[] failureDetails = new String[rejections.size()];
+        for (int i = 0; i < taskIds.length; i++) {
+            final JobTaskRejection rejection = rejections.get(i);
+            taskIds[i] = rejection.getJobTaskId();
+            failureDetails[i] = getFailureDetailsString(rejection.getRejectionDetails());
+        }
+
+        try (final Connection conn = getConnection()) {
+            try (final CallableStatement stmt = conn.prepareCall("{call report_failure_bulk(?,?,?,?)}")) {
+                stmt.setString(1, partitionId);
+                stmt.setString(2, jobId);
+                stmt.setArray(3, conn.createArrayOf("varchar", taskIds));
+                stmt.setArray(4, conn.createArrayOf("text", failureDetails));
+
+                stmt.execute();
+            } catch (final SQLException ex) {
+                evictIfTransient(conn, ex);
+                throw ex;
+            }
+        } catch (final SQLTransientException te) {
+            throw new JobReportingTransientException(
+                MessageFormat.format(FAILED_TO_REPORT_REJECTIONS, Arrays.toString(taskIds), te.getMessage()), te);
+        } catch (final SQLException se) {
+            if (isSqlStateIn(se, POSTGRES_UNABLE_TO_EXECUTE_READ_ONLY_TRANSACTION_FAILURE_CODE,
+                             POSTGRES_OPERATOR_FAILURE_CODE_PREFIX)) {
+                throw new JobReportingTransientException(
+                    MessageFormat.format(FAILED_TO_REPORT_REJECTIONS, Arrays.toString(taskIds), se.getMessage()), se);
+            }
+            throw new JobReportingException(
+                MessageFormat.format(FAILED_TO_REPORT_REJECTIONS, Arrays.toString(taskIds), se.getMessage()), se);
+        }
+    }
+
 
     /**
      * Try to connect to the Job Database using the connection info provided in ctor.
      */
     @Override
     public boolean verifyJobDatabase() {
-        try (Connection conn = getConnection()) {
+        try (final Connection conn = getConnection()) {
+            if (!conn.isValid(0)) {
+                LOG.error("Failed to verify connection to the Job Database. Connection pool: {}", getPoolState());
+                dataSource.evictConnection(conn);
+                return false;
+            }
         } catch (Exception e) {
-            LOG.error("Failed to verify connection to the Job Database. ", e);
+            LOG.error("Failed to verify connection to the Job Database. Connection pool: {}", getPoolState(), e);
             return false;
         }
+        LOG.debug("Verified connection to the Job Database. Connection pool: {}", getPoolState());
         return true;
     }
 
 
     /**
-     * Creates a connection to the (PostgreSQL) Job Database.
+     * Closes the connection pool.
      */
-    private Connection getConnection() throws JobReportingException
+    @Override
+    public void close()
     {
-        LOG.debug("Connecting to database host {}, port {}, name {} ...", jobDatabaseHost, jobDatabasePortString, jobDatabaseName);
+        dataSource.close();
+    }
 
+    /**
+     * Creates the pool of connections to the (PostgreSQL) Job Database.
+     * <p>
+     * One connection is allowed per worker thread, plus one for the health check. The pool's MBeans are registered so that its
+     * active, idle and pending connection counts can be monitored.
+     */
+    private HikariDataSource createDataSource(final int workerThreads) throws JobReportingException
+    {
         final PGSimpleDataSource dbSource = new PGSimpleDataSource();
         dbSource.setServerNames(new String[]{jobDatabaseHost});
         dbSource.setDatabaseName(jobDatabaseName);
@@ -330,21 +485,47 @@ public class JobTrackingWorkerReporter implements JobTrackingReporter {
 
         try {
             dbSource.setPortNumbers(new int[]{Integer.parseInt(jobDatabasePortString)});
-            return dbSource.getConnection();
         } catch (final NumberFormatException ex){
             LOG.error(FAILED_TO_CONNECT_INVALID_PORT, jobDatabaseName, jobDatabasePortString, ex);
             throw new JobReportingException(ex.getMessage(), ex);
-        }catch (final SQLTransientException ex) {
+        }
+
+        final HikariConfig poolConfig = new HikariConfig();
+        poolConfig.setPoolName(POOL_NAME);
+        poolConfig.setDataSource(dbSource);
+        poolConfig.setMaximumPoolSize(Math.max(workerThreads, 1) + 1);
+        poolConfig.setMinimumIdle(1);
+        poolConfig.setIdleTimeout(TimeUnit.MINUTES.toMillis(5));
+        poolConfig.setMaxLifetime(TimeUnit.MINUTES.toMillis(30));
+        poolConfig.setConnectionTimeout(TimeUnit.SECONDS.toMillis(30));
+        poolConfig.setRegisterMbeans(true);
+        // Don't fail at start-up if the database is not yet available; the health check reports on it instead
+        poolConfig.setInitializationFailTimeout(-1);
+
+        LOG.debug("Creating pool of up to {} connections to database host {}, port {}, name {} ...",
+                  poolConfig.getMaximumPoolSize(), jobDatabaseHost, jobDatabasePortString, jobDatabaseName);
+        return new HikariDataSource(poolConfig);
+    }
+
+    /**
+     * Gets a connection to the (PostgreSQL) Job Database from the pool.
+     */
+    private Connection getConnection() throws JobReportingException
+    {
+        LOG.debug("Getting connection to database host {}, port {}, name {} ...",
+                  jobDatabaseHost, jobDatabasePortString, jobDatabaseName);
+
+        try {
+            return dataSource.getConnection();
+        } catch (final SQLTransientException ex) {
             LOG.error(FAILED_TO_CONNECT, jobDatabaseHost+" / "+jobDatabasePortString+" / "+jobDatabaseName, ex);
             throw new JobReportingTransientException(ex.getMessage(), ex);
         } catch (final SQLException ex) {
             LOG.error(FAILED_TO_CONNECT, jobDatabaseHost+" / "+jobDatabasePortString+" / "+jobDatabaseName, ex);
 
             // Declare error code for issues like not enough connections, memory, disk, etc.
-            final String CONNECTION_EXCEPTION = "08";
-            final String INSUFFICIENT_RESOURCES = "53";
-
-            if (isSqlStateIn(ex, CONNECTION_EXCEPTION, INSUFFICIENT_RESOURCES, POSTGRES_OPERATOR_FAILURE_CODE_PREFIX)) {
+            if (isSqlStateIn(ex, POSTGRES_CONNECTION_EXCEPTION_CODE_PREFIX, POSTGRES_INSUFFICIENT_RESOURCES_CODE_PREFIX,
+                             POSTGRES_OPERATOR_FAILURE_CODE_PREFIX)) {
                 throw new JobReportingTransientException(ex.getMessage(), ex);
             } else {
                 throw new JobReportingException(ex.getMessage(), ex);
@@ -352,6 +533,33 @@ public class JobTrackingWorkerReporter implements JobTrackingReporter {
         }
     }
 
+    /**
+     * Removes the connection from the pool if the failure indicates that it should not be reused.
+     * <p>
+     * The pool already evicts connections which have lost contact with the server, but a connection which has been left attached to
+     * a read-only server (for example after a failover) or whose session was terminated by an operator must not be handed out
+     * again either.
+     */
+    private void evictIfTransient(final Connection conn, final SQLException ex)
+    {
+        if (ex instanceof SQLTransientException
+            || isSqlStateIn(ex, POSTGRES_UNABLE_TO_EXECUTE_READ_ONLY_TRANSACTION_FAILURE_CODE,
+                            POSTGRES_OPERATOR_FAILURE_CODE_PREFIX)) {
+            LOG.debug("Evicting database connection from pool after transient failure: {}", ex.getSQLState());
+            dataSource.evictConnection(conn);
+        }
+    }
+
+    private String getPoolState()
+    {
+        final HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        return pool == null
+            ? "not started"
+            : "active=" + pool.getActiveConnections()
+                + ", idle=" + pool.getIdleConnections()
+                + ", waiting=" + pool.getThreadsAwaitingConnection();
+    }
+
     private static String getFailureDetailsString(final JobTrackingWorkerFailure rejectionDetails) throws JobReportingException
     {
         final ObjectMapper mapper = new ObjectMapper();
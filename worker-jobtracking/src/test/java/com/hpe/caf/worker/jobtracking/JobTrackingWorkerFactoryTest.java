@@ -16,6 +16,7 @@
 package com.hpe.caf.worker.jobtracking;
 
 import com.hpe.caf.api.Codec;
+import com.hpe.caf.api.CodecException;
 import com.hpe.caf.api.ConfigurationException;
 import com.hpe.caf.api.ConfigurationSource;
 import com.hpe.caf.api.worker.*;
@@ -26,12 +27,15 @@ import com.hpe.caf.worker.tracking.report.TrackingReportConstants;
 import com.hpe.caf.worker.tracking.report.TrackingReportStatus;
 import com.hpe.caf.worker.tracking.report.TrackingReportTask;
 import java.util.ArrayList;
+import java.util.Arrays;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import static org.mockito.Mockito.verify;
 
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -127,6 +131,173 @@ public class JobTrackingWorkerFactoryTest {
         verify(reporter, Mockito.times(1)).reportJobTaskComplete(eq(taskId));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBulkTrackingReportTask() throws Exception
+    {
+        //Setup
+        final Codec codec = new JsonCodec();
+        final JobTrackingReporter reporter = Mockito.mock(JobTrackingReporter.class);
+        final TrackingReportTask trackingReport = new TrackingReportTask();
+        trackingReport.trackingReports = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            final TrackingReport tr = new TrackingReport();
+            tr.retries = null;
+            tr.estimatedPercentageCompleted = i * 25;
+            tr.status = TrackingReportStatus.Progress;
+            tr.jobTaskId = jobTaskId + "." + i;
+            tr.failure = null;
+            trackingReport.trackingReports.add(tr);
+        }
+        final TrackingReport completedReport = new TrackingReport();
+        completedReport.retries = null;
+        completedReport.estimatedPercentageCompleted = 100;
+        completedReport.status = TrackingReportStatus.Complete;
+        completedReport.jobTaskId = jobTaskId;
+        completedReport.failure = null;
+        trackingReport.trackingReports.add(completedReport);
+
+        final WorkerTask workerTask = Mockito.mock(WorkerTask.class);
+        Mockito.when(workerTask.getClassifier()).thenReturn(TrackingReportConstants.TRACKING_REPORT_TASK_NAME);
+        Mockito.when(workerTask.getData()).thenReturn(codec.serialise(trackingReport));
+        Mockito.when(workerTask.getVersion()).thenReturn(TrackingReportConstants.TRACKING_REPORT_TASK_API_VER);
+        final BulkWorkerRuntime bulkWorkerRuntime = Mockito.mock(BulkWorkerRuntime.class);
+        Mockito.when(bulkWorkerRuntime.getNextWorkerTask(Mockito.anyLong())).thenReturn(workerTask, (WorkerTask) null);
+
+        //Create the worker factory subject to testing
+        final JobTrackingWorkerFactory workerFactory = createJobTrackingWorkerFactory(codec, reporter);
+
+        //Test
+        workerFactory.processTasks(bulkWorkerRuntime);
+
+        //verify results
+        final ArgumentCaptor<List<JobTaskProgress>> progressReports = ArgumentCaptor.forClass(List.class);
+        verify(reporter, Mockito.times(1)).reportJobTasksProgress(eq("default"), eq("J123"), progressReports.capture());
+        assertEquals(3, progressReports.getValue().size());
+        assertEquals(jobTaskId + ".1", progressReports.getValue().get(0).getJobTaskId());
+        assertEquals(25, progressReports.getValue().get(0).getEstimatedPercentageCompleted());
+        verify(reporter, Mockito.times(1)).reportJobTasksComplete(eq("default"), eq("J123"), eq(Collections.singletonList(jobTaskId)));
+        verify(reporter, Mockito.never()).reportJobTaskProgress(Mockito.anyString(), anyInt());
+        verify(workerTask, Mockito.times(1)).setResponse(Mockito.any(WorkerResponse.class));
+    }
+
+    @Test
+    public void testBulkTrackingReportTaskCoalescesProgress() throws Exception
+    {
+        //Setup
+        final Codec codec = new JsonCodec();
+        final JobTrackingReporter reporter = Mockito.mock(JobTrackingReporter.class);
+        final TrackingReportTask trackingReport = new TrackingReportTask();
+        trackingReport.trackingReports = new ArrayList<>();
+        trackingReport.trackingReports.add(createTrackingReport(jobTaskId + ".1", TrackingReportStatus.Progress, 10));
+        trackingReport.trackingReports.add(createTrackingReport(jobTaskId + ".2", TrackingReportStatus.Progress, 10));
+        trackingReport.trackingReports.add(createTrackingReport(jobTaskId + ".1", TrackingReportStatus.Progress, 20));
+        trackingReport.trackingReports.add(createTrackingReport(jobTaskId + ".2", TrackingReportStatus.Progress, 50));
+        trackingReport.trackingReports.add(createTrackingReport(jobTaskId + ".2", TrackingReportStatus.Complete, 100));
+
+        final WorkerTask workerTask = Mockito.mock(WorkerTask.class);
+        Mockito.when(workerTask.getClassifier()).thenReturn(TrackingReportConstants.TRACKING_REPORT_TASK_NAME);
+        Mockito.when(workerTask.getData()).thenReturn(codec.serialise(trackingReport));
+        Mockito.when(workerTask.getVersion()).thenReturn(TrackingReportConstants.TRACKING_REPORT_TASK_API_VER);
+        final BulkWorkerRuntime bulkWorkerRuntime = Mockito.mock(BulkWorkerRuntime.class);
+        Mockito.when(bulkWorkerRuntime.getNextWorkerTask(Mockito.anyLong())).thenReturn(workerTask, (WorkerTask) null);
+
+        //Create the worker factory subject to testing
+        final JobTrackingWorkerFactory workerFactory = createJobTrackingWorkerFactory(codec, reporter);
+
+        //Test
+        workerFactory.processTasks(bulkWorkerRuntime);
+
+        //verify results
+        final ArgumentCaptor<List<JobTaskProgress>> progressReports = ArgumentCaptor.forClass(List.class);
+        verify(reporter, Mockito.times(1)).reportJobTasksProgress(eq("default"), eq("J123"), progressReports.capture());
+        assertEquals(1, progressReports.getValue().size());
+        assertEquals(jobTaskId + ".1", progressReports.getValue().get(0).getJobTaskId());
+        assertEquals(20, progressReports.getValue().get(0).getEstimatedPercentageCompleted());
+        verify(reporter, Mockito.times(1))
+            .reportJobTasksComplete(eq("default"), eq("J123"), eq(Collections.singletonList(jobTaskId + ".2")));
+        verify(workerTask, Mockito.times(1)).setResponse(Mockito.any(WorkerResponse.class));
+        assertEquals(3, workerFactory.getMetrics().getCoalescedProgressReports());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBulkTrackingReportTaskFailureOnlyFailsItsOwnMessages() throws Exception
+    {
+        //Setup
+        final Codec codec = new JsonCodec();
+        final JobTrackingReporter reporter = Mockito.mock(JobTrackingReporter.class);
+        final String badJobTaskId = "J200.3";
+        Mockito.doThrow(new JobReportingException("value too long for type character varying(70)"))
+            .when(reporter).reportJobTasksProgress(eq("default"), eq("J200"), Mockito.argThat(
+                (List<JobTaskProgress> reports) -> reports.stream().anyMatch(r -> r.getJobTaskId().equals(badJobTaskId))));
+
+        final WorkerTask firstJobTask = createTrackingReportWorkerTask(codec,
+            createTrackingReport("J100.1", TrackingReportStatus.Progress, 10));
+        final WorkerTask badTask = createTrackingReportWorkerTask(codec,
+            createTrackingReport(badJobTaskId, TrackingReportStatus.Progress, 10));
+        final WorkerTask sharedJobTask = createTrackingReportWorkerTask(codec,
+            createTrackingReport("J200.2", TrackingReportStatus.Progress, 20),
+            createTrackingReport("J300.1", TrackingReportStatus.Complete, 100));
+        final BulkWorkerRuntime bulkWorkerRuntime = Mockito.mock(BulkWorkerRuntime.class);
+        Mockito.when(bulkWorkerRuntime.getNextWorkerTask(Mockito.anyLong()))
+            .thenReturn(firstJobTask, badTask, sharedJobTask, null);
+
+        //Create the worker factory subject to testing
+        final JobTrackingWorkerFactory workerFactory = createJobTrackingWorkerFactory(codec, reporter);
+
+        //Test
+        workerFactory.processTasks(bulkWorkerRuntime);
+
+        //verify results
+        verify(reporter, Mockito.times(1)).reportJobTasksProgress(eq("default"), eq("J100"), Mockito.anyList());
+        final ArgumentCaptor<List<JobTaskProgress>> progressReports = ArgumentCaptor.forClass(List.class);
+        verify(reporter, Mockito.times(3)).reportJobTasksProgress(eq("default"), eq("J200"), progressReports.capture());
+        assertEquals(2, progressReports.getAllValues().get(0).size());
+        assertEquals(badJobTaskId, progressReports.getAllValues().get(1).get(0).getJobTaskId());
+        assertEquals("J200.2", progressReports.getAllValues().get(2).get(0).getJobTaskId());
+        verify(reporter, Mockito.times(1)).reportJobTasksComplete(eq("default"), eq("J300"), eq(Collections.singletonList("J300.1")));
+
+        assertEquals(TaskStatus.RESULT_SUCCESS, getResponse(firstJobTask).getTaskStatus());
+        assertEquals(TaskStatus.RESULT_FAILURE, getResponse(badTask).getTaskStatus());
+        assertEquals(TaskStatus.RESULT_SUCCESS, getResponse(sharedJobTask).getTaskStatus());
+    }
+
+    private static WorkerTask createTrackingReportWorkerTask(final Codec codec, final TrackingReport... trackingReports)
+        throws CodecException
+    {
+        final TrackingReportTask trackingReportTask = new TrackingReportTask();
+        trackingReportTask.trackingReports = new ArrayList<>(Arrays.asList(trackingReports));
+
+        final WorkerTask workerTask = Mockito.mock(WorkerTask.class);
+        Mockito.when(workerTask.getClassifier()).thenReturn(TrackingReportConstants.TRACKING_REPORT_TASK_NAME);
+        Mockito.when(workerTask.getData()).thenReturn(codec.serialise(trackingReportTask));
+        Mockito.when(workerTask.getVersion()).thenReturn(TrackingReportConstants.TRACKING_REPORT_TASK_API_VER);
+        return workerTask;
+    }
+
+    private static WorkerResponse getResponse(final WorkerTask workerTask)
+    {
+        final ArgumentCaptor<WorkerResponse> response = ArgumentCaptor.forClass(WorkerResponse.class);
+        verify(workerTask, Mockito.times(1)).setResponse(response.capture());
+        return response.getValue();
+    }
+
+    private static TrackingReport createTrackingReport(
+        final String trackingJobTaskId,
+        final TrackingReportStatus status,
+        final int estimatedPercentageCompleted
+    )
+    {
+        final TrackingReport tr = new TrackingReport();
+        tr.retries = null;
+        tr.estimatedPercentageCompleted = estimatedPercentageCompleted;
+        tr.status = status;
+        tr.jobTaskId = trackingJobTaskId;
+        tr.failure = null;
+        return tr;
+    }
+
     @Test
     public void testProxiedInProgressTask() throws Exception {
         //Setup